@@ -0,0 +1,62 @@
+package kg.mega.library_app.benchmarks;
+
+import kg.mega.library_app.common.CatalogVersion;
+import kg.mega.library_app.common.exceptions.DataNotFoundException;
+import kg.mega.library_app.dao.BookRepo;
+import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.models.dto.projections.BookGenreView;
+import kg.mega.library_app.models.dto.projections.BookView;
+import kg.mega.library_app.models.dto.responses.BookResp;
+import kg.mega.library_app.services.AuthorService;
+import kg.mega.library_app.services.GenreService;
+import kg.mega.library_app.services.impl.BookServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of book projections and their genre titles into BookResp, as done by every book list endpoint.
+ * The repository is a fixed-result stub, so only the service-side grouping and building is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookMappingBenchmark {
+    private static final int GENRES_PER_BOOK = 3;
+
+    @Param({"20", "500"})
+    public int books;
+
+    private BookServiceImpl bookService;
+
+    @Setup
+    public void setUp() {
+        List<BookView> views = new ArrayList<>();
+        List<BookGenreView> genres = new ArrayList<>();
+        for (long id = 1; id <= books; id++) {
+            views.add(new BookView(id, "Book " + id, "John", "Doe", 3));
+            for (int g = 0; g < GENRES_PER_BOOK; g++) {
+                genres.add(new BookGenreView(id, "Genre " + g));
+            }
+        }
+        BookRepo bookRepo = (BookRepo) Proxy.newProxyInstance(BookRepo.class.getClassLoader(),
+                new Class<?>[]{BookRepo.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllViewsByAuthorId" -> views;
+                    case "findGenreTitlesByBookIds" -> genres;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        bookService = new BookServiceImpl(bookRepo, null, null, null, new CatalogVersion(60));
+    }
+
+    @Benchmark
+    public List<BookResp> mapBookViews() throws DataNotFoundException {
+        return bookService.getBooksByAuthorId(1L);
+    }
+}
@@ -0,0 +1,57 @@
+package kg.mega.library_app.benchmarks;
+
+import kg.mega.library_app.models.dto.responses.BookResp;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the Lombok builders used to assemble response DTOs, against the all-args constructors they wrap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoBuilderBenchmark {
+    private final List<String> genres = List.of("Drama", "Satire", "Classic");
+
+    private String title = "Book";
+
+    private List<BookResp> content;
+
+    @Setup
+    public void setUp() {
+        content = List.of(bookRespConstructor(), bookRespConstructor());
+    }
+
+    @Benchmark
+    public BookResp bookRespBuilder() {
+        return BookResp
+                .builder()
+                .bookTitle(title)
+                .authorFirstname("John")
+                .authorLastname("Doe")
+                .quantity(3)
+                .genreTitle(genres)
+                .build();
+    }
+
+    @Benchmark
+    public BookResp bookRespConstructor() {
+        return new BookResp(title, "John", "Doe", genres, 3);
+    }
+
+    @Benchmark
+    public CursorPageResp<BookResp> cursorPageBuilder() {
+        return CursorPageResp
+                .<BookResp>builder()
+                .content(content)
+                .size(content.size())
+                .nextCursor(title)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package kg.mega.library_app.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import kg.mega.library_app.security.JwtAuthenticationFilter;
+import kg.mega.library_app.security.VerifiedTokenCache;
+import kg.mega.library_app.services.JwtService;
+import kg.mega.library_app.services.impl.JwtServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through JwtAuthenticationFilter, with the verified-token cache hit
+ * and with a cache that always misses (HMAC verification and a user lookup on every request).
+ * The user lookup is an in-memory stub, so the miss path shows the filter's own cost without the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"hit", "miss"})
+    public String cache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        UserDetails userDetails = User
+                .withUsername("reader@example.com")
+                .password("password")
+                .roles("USER")
+                .build();
+        JwtService jwtService = new JwtServiceImpl();
+        VerifiedTokenCache verifiedTokenCache = cache.equals("hit")
+                ? new VerifiedTokenCache(new SimpleMeterRegistry(), 10_000, 600)
+                : new VerifiedTokenCache(new SimpleMeterRegistry(), 10_000, 600) {
+                    @Override
+                    public UserDetails get(String token) {
+                        return null;
+                    }
+                };
+        filter = new JwtAuthenticationFilter(jwtService, username -> userDetails, verifiedTokenCache);
+        request = new MockHttpServletRequest("GET", "/users/favorites");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(userDetails));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
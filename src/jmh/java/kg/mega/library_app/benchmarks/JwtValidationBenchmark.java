@@ -0,0 +1,74 @@
+package kg.mega.library_app.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import kg.mega.library_app.services.JwtService;
+import kg.mega.library_app.services.impl.JwtServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static io.jsonwebtoken.io.Decoders.BASE64;
+
+/**
+ * Token validation as done by JwtAuthenticationFilter on every authenticated request.
+ * {@code legacyFilterPath} reproduces the previous behaviour: the key and parser were
+ * rebuilt and the token was parsed three times (extractUsername + isTokenValid).
+ * {@code generateToken} is the signing cost paid on authentication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+    private static final String SECRET_KEY = "6250655368566D597133743677397A244226452948404D635166546A576E5A72";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtServiceImpl();
+        userDetails = User
+                .withUsername("reader@example.com")
+                .password("password")
+                .roles("USER")
+                .build();
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String username = legacyParse(token).getSubject();
+        return username.equals(userDetails.getUsername())
+                && legacyParse(token).getSubject().equals(userDetails.getUsername())
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean filterPath() {
+        Claims claims = jwtService.validateToken(token);
+        return jwtService.isTokenValid(claims, userDetails);
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts
+                .parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(BASE64.decode(SECRET_KEY)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
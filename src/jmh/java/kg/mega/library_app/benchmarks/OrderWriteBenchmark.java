@@ -0,0 +1,102 @@
+package kg.mega.library_app.benchmarks;
+
+import kg.mega.library_app.Main;
+import kg.mega.library_app.common.exceptions.DataNotFoundException;
+import kg.mega.library_app.dao.BookRepo;
+import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.models.constants.Role;
+import kg.mega.library_app.models.dto.requests.OrderReq;
+import kg.mega.library_app.models.dto.responses.OrderResp;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
+import kg.mega.library_app.services.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent {@code takeBook} calls, each decrementing the stock and writing an order and its TAKING history row,
+ * against the full application on embedded H2. {@code default} runs with application.properties only,
+ * {@code prod} adds the production profile (core-sized pool, JDBC batching, ordered inserts and updates).
+ * H2 ignores the PostgreSQL prepared-statement settings, so those need a run against PostgreSQL to show.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class OrderWriteBenchmark {
+    private static final int BOOKS = 200;
+    private static final int READERS = 64;
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private final List<Long> bookIds = new ArrayList<>();
+    private final List<AuthenticatedUser> readers = new ArrayList<>();
+    private final AtomicInteger nextReader = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Main.class).logStartupInfo(false);
+        if (!profile.equals("default")) {
+            builder.profiles(profile);
+        }
+        context = builder.run(
+                "--spring.datasource.url=jdbc:h2:mem:orders-" + profile + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--server.port=0",
+                "--library.overdue.cron=-",
+                "--logging.level.root=WARN");
+        orderService = context.getBean(OrderService.class);
+
+        BookRepo bookRepo = context.getBean(BookRepo.class);
+        for (int i = 0; i < BOOKS; i++) {
+            bookIds.add(bookRepo.save(Book.builder().title("Book " + i).quantity(Integer.MAX_VALUE).build()).getId());
+        }
+        UserRepo userRepo = context.getBean(UserRepo.class);
+        for (int i = 0; i < READERS; i++) {
+            User user = userRepo.save(new User("Reader", "No" + i, null, true, "reader" + i + "@bench.test", Role.ROLE_USER));
+            readers.add(new AuthenticatedUser(user.getId(), user.getEmail(), user.getFirstname(), user.getLastname(),
+                    user.getPassword(), user.getRole(), true));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Reader {
+        @Setup
+        public void signIn(OrderWriteBenchmark benchmark) {
+            AuthenticatedUser reader = benchmark.readers.get(benchmark.nextReader.getAndIncrement() % READERS);
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(reader, null, reader.getAuthorities()));
+        }
+    }
+
+    @Benchmark
+    public OrderResp takeBook(Reader reader) throws DataNotFoundException {
+        Long bookId = bookIds.get(ThreadLocalRandom.current().nextInt(BOOKS));
+        return orderService.takeBook(new OrderReq(bookId, LocalDate.now().plusDays(14)));
+    }
+}
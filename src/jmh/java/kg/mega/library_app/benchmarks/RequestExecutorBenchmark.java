@@ -0,0 +1,73 @@
+package kg.mega.library_app.benchmarks;
+
+import kg.mega.library_app.common.VirtualThreads;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of {@code clients} concurrent requests that each block for {@code blockMillis},
+ * the way a request waits on JDBC or SMTP. {@code platform} is Tomcat's default pool of 200 threads,
+ * {@code virtual} is a thread per request as configured by the virtual-threads profile (Java 21 only).
+ * Sample time reports p50/p99 of a whole burst; burst throughput is clients divided by that time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestExecutorBenchmark {
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"2000"})
+    public int clients;
+
+    @Param({"20"})
+    public long blockMillis;
+
+    private Executor executor;
+
+    @Setup
+    public void setUp() {
+        if (threads.equals("virtual")) {
+            SimpleAsyncTaskExecutor perRequest = new SimpleAsyncTaskExecutor();
+            perRequest.setThreadFactory(VirtualThreads.factory("request-"));
+            executor = perRequest;
+        } else {
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(blockMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
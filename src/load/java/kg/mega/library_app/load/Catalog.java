@@ -0,0 +1,12 @@
+package kg.mega.library_app.load;
+
+import java.util.List;
+
+/**
+ * What the seeder wrote, so scenarios only ask for rows that exist.
+ */
+record Catalog(int books, int authors, int genres, int users, List<String> words, String password) {
+    static String email(int user) {
+        return "reader" + user + "@load.test";
+    }
+}
@@ -0,0 +1,184 @@
+package kg.mega.library_app.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds the catalog with plain JDBC batches: entity listeners, the search index and the version
+ * counters are bypassed, so the caller rebuilds the in-memory indexes afterwards.
+ * Ids are written explicitly and the sequences are moved past them, so the application can keep inserting.
+ */
+@Slf4j
+class CatalogSeeder {
+    static final String PASSWORD = "Password1";
+
+    private static final int CHUNK = 5000;
+    private static final int GENRES = 50;
+    private static final int ALLOCATION_SIZE = 50;
+    private static final List<String> WORDS = List.of(
+            "river", "shadow", "garden", "winter", "empire", "silence", "mountain", "letter", "harbor", "storm",
+            "orchard", "mirror", "island", "lantern", "forest", "captain", "secret", "desert", "crown", "voyage",
+            "memory", "station", "village", "thunder", "daughter", "kingdom", "glass", "summer", "machine", "stone",
+            "bridge", "ocean", "midnight", "ember", "falcon", "hunter", "legacy", "meadow", "north", "paper",
+            "quiet", "raven", "salt", "tower", "valley", "wander", "willow", "yellow", "zephyr", "autumn",
+            "border", "candle", "dragon", "echo", "feather", "ghost", "harvest", "iron", "jungle", "knight",
+            "labyrinth", "marble", "night", "oracle", "prairie", "quest", "ridge", "sparrow", "tide", "umbra",
+            "velvet", "whisper", "crystal", "dawn", "frontier", "granite", "horizon", "ivory", "journey", "lighthouse");
+    private static final List<String> FIRSTNAMES = List.of(
+            "Anna", "Boris", "Chingiz", "Dana", "Erlan", "Fatima", "Gulnara", "Ilya", "Jamila", "Kairat",
+            "Leila", "Marat", "Nurlan", "Olga", "Pavel", "Roza", "Sergei", "Timur", "Ulan", "Vera");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadSettings settings;
+    private final SplittableRandom random;
+
+    CatalogSeeder(JdbcTemplate jdbcTemplate, LoadSettings settings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settings = settings;
+        this.random = new SplittableRandom(settings.seed());
+    }
+
+    Catalog seed() {
+        int authors = settings.scaled(10_000);
+        int books = settings.scaled(100_000);
+        int users = settings.scaled(10_000);
+        int orders = settings.scaled(500_000);
+        int reviews = settings.scaled(100_000);
+        LocalDate today = LocalDate.now();
+        String passwordHash = new BCryptPasswordEncoder(8).encode(PASSWORD);
+
+        insert("genres", "INSERT INTO genres (id, title, description) VALUES (?, ?, ?)", GENRES, (ps, i) -> {
+            ps.setLong(1, i + 1);
+            ps.setString(2, capitalize(WORDS.get(i % WORDS.size())) + " " + (i + 1));
+            ps.setString(3, sentence(6));
+        });
+        insert("authors", "INSERT INTO authors (id, firstname, lastname, birthplace, date_of_birth) VALUES (?, ?, ?, ?, ?)", authors, (ps, i) -> {
+            ps.setLong(1, i + 1);
+            ps.setString(2, FIRSTNAMES.get(i % FIRSTNAMES.size()));
+            ps.setString(3, capitalize(word()) + "ov" + (i + 1));
+            ps.setString(4, "Bishkek");
+            ps.setDate(5, Date.valueOf(today.minusYears(30 + i % 50)));
+        });
+        insert("books", "INSERT INTO books (id, title, description, publication_year, quantity, author_id) VALUES (?, ?, ?, ?, ?, ?)", books, (ps, i) -> {
+            ps.setLong(1, i + 1);
+            ps.setString(2, capitalize(word()) + " " + word() + " " + word() + " " + (i + 1));
+            ps.setString(3, sentence(12));
+            ps.setString(4, String.valueOf(1900 + i % 124));
+            ps.setInt(5, 5);
+            ps.setLong(6, 1 + random.nextInt(authors));
+        });
+        insert("book_genre", "INSERT INTO book_genre (book_id, genre_id) VALUES (?, ?)", books * 2, (ps, i) -> {
+            int book = i / 2;
+            int first = book % GENRES;
+            int genre = i % 2 == 0 ? first : (first + 1 + book % (GENRES - 1)) % GENRES;
+            ps.setLong(1, book + 1);
+            ps.setLong(2, genre + 1);
+        });
+        insert("users", "INSERT INTO users (id, firstname, lastname, phone_number, is_active, email, password, role, date_of_created) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", users, (ps, i) -> {
+            ps.setLong(1, i + 1);
+            ps.setString(2, FIRSTNAMES.get(i % FIRSTNAMES.size()));
+            ps.setString(3, "Reader" + (i + 1));
+            ps.setString(4, "+996700" + String.format("%06d", i));
+            ps.setBoolean(5, true);
+            ps.setString(6, Catalog.email(i + 1));
+            ps.setString(7, passwordHash);
+            ps.setString(8, "ROLE_USER");
+            ps.setTimestamp(9, Timestamp.valueOf(LocalDateTime.now()));
+        });
+        LocalDate[] orderDates = new LocalDate[orders];
+        LocalDate[] returnDates = new LocalDate[orders];
+        insert("orders", "INSERT INTO orders (id, user_id, book_id, order_date, return_due_date, actual_return_date) VALUES (?, ?, ?, ?, ?, ?)", orders, (ps, i) -> {
+            orderDates[i] = today.minusDays(30 + random.nextInt(700));
+            returnDates[i] = orderDates[i].plusDays(1 + random.nextInt(20));
+            ps.setLong(1, i + 1);
+            ps.setLong(2, 1 + random.nextInt(users));
+            ps.setLong(3, 1 + random.nextInt(books));
+            ps.setDate(4, Date.valueOf(orderDates[i]));
+            ps.setDate(5, Date.valueOf(orderDates[i].plusDays(14)));
+            ps.setDate(6, Date.valueOf(returnDates[i]));
+        });
+        insert("order_history", "INSERT INTO order_history (id, order_id, status, action_date) VALUES (?, ?, ?, ?)", orders * 2, (ps, i) -> {
+            int order = i / 2;
+            boolean taking = i % 2 == 0;
+            ps.setLong(1, i + 1);
+            ps.setLong(2, order + 1);
+            ps.setString(3, taking ? "TAKING" : "RETURNING");
+            ps.setTimestamp(4, Timestamp.valueOf((taking ? orderDates[order] : returnDates[order]).atTime(10 + i % 8, 0)));
+        });
+        insert("reviews", "INSERT INTO reviews (id, comment, user_id, book_id) VALUES (?, ?, ?, ?)", reviews, (ps, i) -> {
+            ps.setLong(1, i + 1);
+            ps.setString(2, capitalize(sentence(10)) + ".");
+            ps.setLong(3, 1 + random.nextInt(users));
+            ps.setLong(4, 1 + random.nextInt(books));
+        });
+
+        restartSequence("genres_seq", GENRES);
+        restartSequence("authors_seq", authors);
+        restartSequence("books_seq", books);
+        restartIdentity("users", users);
+        restartIdentity("orders", orders);
+        restartIdentity("order_history", orders * 2L);
+        restartIdentity("reviews", reviews);
+        return new Catalog(books, authors, GENRES, users, WORDS, PASSWORD);
+    }
+
+    private void insert(String table, String sql, int rows, RowWriter writer) {
+        long started = System.nanoTime();
+        for (int from = 0; from < rows; from += CHUNK) {
+            int start = from;
+            int size = Math.min(CHUNK, rows - from);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    writer.write(ps, start + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+        log.info("Seeded {} rows into {} in {} ms.", rows, table, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void restartSequence(String sequence, long maxId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + ALLOCATION_SIZE + 1));
+    }
+
+    private void restartIdentity(String table, long maxId) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (maxId + 1));
+    }
+
+    private String word() {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+
+    private String sentence(int words) {
+        StringBuilder sentence = new StringBuilder(word());
+        for (int i = 1; i < words; i++) {
+            sentence.append(' ').append(word());
+        }
+        return sentence.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, int row) throws SQLException;
+    }
+}
@@ -0,0 +1,180 @@
+package kg.mega.library_app.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop clients: each logs in as its own reader and then runs the mixed scenario back to back,
+ * without think time, until the run ends. Requests started during warm-up are not recorded.
+ * <pre>
+ * browse      50%  /books/all by page and by cursor, books by author, reviews of a book
+ * search      20%  /books/search with one or two catalog words
+ * take/return 15%  /orders/take followed by /orders/return/{id}
+ * review      15%  /reviews/create
+ * </pre>
+ */
+class LoadDriver {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final Catalog catalog;
+    private final LoadSettings settings;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .build();
+    private final LoadReport report = new LoadReport();
+
+    private long measureFrom;
+
+    LoadDriver(URI baseUri, Catalog catalog, LoadSettings settings, JdbcTemplate jdbcTemplate) {
+        this.baseUri = baseUri;
+        this.catalog = catalog;
+        this.settings = settings;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    LoadReport run() throws InterruptedException {
+        long started = System.nanoTime();
+        measureFrom = started + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(settings.clients());
+        for (int i = 0; i < settings.clients(); i++) {
+            Client client = new Client(i);
+            clients.execute(() -> client.run(end));
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(settings.warmup().plus(settings.duration()).plus(TIMEOUT).toSeconds(), TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+        }
+        return report;
+    }
+
+    private final class Client {
+        private final SplittableRandom random;
+        private final int user;
+        private String token;
+        private String cursor;
+
+        Client(int index) {
+            this.random = new SplittableRandom(settings.seed() + index);
+            this.user = 1 + index % catalog.users();
+        }
+
+        void run(long end) {
+            login();
+            while (System.nanoTime() < end && token != null) {
+                int pick = random.nextInt(100);
+                if (pick < 20) {
+                    get("GET /books/all?page", "/books/all?size=20&page=" + random.nextInt(100));
+                } else if (pick < 35) {
+                    browseByCursor();
+                } else if (pick < 45) {
+                    get("GET /books/by_author_id/{id}", "/books/by_author_id/" + (1 + random.nextInt(catalog.authors())));
+                } else if (pick < 50) {
+                    get("GET /reviews/by_book/{id}", "/reviews/by_book/" + book());
+                } else if (pick < 70) {
+                    String query = random.nextBoolean() ? word() : word() + " " + word();
+                    get("GET /books/search", "/books/search?size=10&q=" + URLEncoder.encode(query, StandardCharsets.UTF_8));
+                } else if (pick < 85) {
+                    takeAndReturn();
+                } else {
+                    post("POST /reviews/create", "/reviews/create",
+                            "{\"book_id\":" + book() + ",\"comment\":\"A " + word() + " and " + word() + " story, well told.\"}");
+                }
+            }
+        }
+
+        private void login() {
+            HttpResponse<String> response = send("POST /users/authentication", request("/users/authentication")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + Catalog.email(user) + "\",\"password\":\"" + catalog.password() + "\"}")));
+            token = response != null && response.statusCode() == 200 ? field(response, "token") : null;
+        }
+
+        private void browseByCursor() {
+            String path = "/books/all?size=20&after=" + (cursor == null ? "" : cursor);
+            HttpResponse<String> response = get("GET /books/all?after", path);
+            cursor = response != null && response.statusCode() == 200 ? field(response, "next_cursor") : null;
+        }
+
+        private void takeAndReturn() {
+            HttpResponse<String> taken = post("POST /orders/take", "/orders/take",
+                    "{\"book_id\":" + book() + ",\"return_due_date\":\"" + LocalDate.now().plusDays(14) + "\"}");
+            if (taken == null || taken.statusCode() != 201) {
+                return;
+            }
+            Long orderId = jdbcTemplate.queryForObject(
+                    "SELECT MAX(id) FROM orders WHERE user_id = ? AND actual_return_date IS NULL", Long.class, user);
+            send("PATCH /orders/return/{id}", request("/orders/return/" + orderId)
+                    .header("Authorization", "Bearer " + token)
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+        }
+
+        private HttpResponse<String> get(String endpoint, String path) {
+            return send(endpoint, request(path).header("Authorization", "Bearer " + token).GET());
+        }
+
+        private HttpResponse<String> post(String endpoint, String path, String json) {
+            return send(endpoint, request(path)
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json)));
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) {
+            long started = System.nanoTime();
+            HttpResponse<String> response = null;
+            try {
+                response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            } catch (IOException ex) {
+                // counted as an error below
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (started >= measureFrom) {
+                report.record(endpoint, System.nanoTime() - started, response != null && response.statusCode() < 400);
+            }
+            return response;
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(TIMEOUT);
+        }
+
+        private String field(HttpResponse<String> response, String name) {
+            try {
+                JsonNode value = objectMapper.readTree(response.body()).get(name);
+                return value == null || value.isNull() ? null : value.asText();
+            } catch (IOException ex) {
+                return null;
+            }
+        }
+
+        private long book() {
+            return 1 + random.nextInt(catalog.books());
+        }
+
+        private String word() {
+            return catalog.words().get(random.nextInt(catalog.words().size()));
+        }
+    }
+}
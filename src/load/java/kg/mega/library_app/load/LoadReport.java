@@ -0,0 +1,96 @@
+package kg.mega.library_app.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latencies of the measured window. Samples are kept whole and sorted once at the end,
+ * so percentiles are exact rather than bucketed.
+ */
+class LoadReport {
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        endpoints.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, ok);
+    }
+
+    List<EndpointResult> results(Duration window) {
+        double seconds = window.toNanos() / 1e9;
+        List<EndpointResult> results = new ArrayList<>();
+        endpoints.entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> results.add(entry.getValue().result(entry.getKey(), seconds)));
+        return results;
+    }
+
+    void print(PrintStream out, Duration window, Map<String, Object> run) {
+        out.println();
+        out.println("Load test " + run);
+        out.printf("%-32s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+        for (EndpointResult result : results(window)) {
+            out.printf("%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.endpoint(), result.requests(), result.errors(), result.throughput(),
+                    result.p50(), result.p95(), result.p99(), result.max());
+        }
+    }
+
+    void writeJson(Path path, Duration window, Map<String, Object> run) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>(run);
+        json.put("endpoints", results(window));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), json);
+    }
+
+    record EndpointResult(String endpoint, long requests, long errors, double throughput,
+                          double p50, double p95, double p99, double max) {
+    }
+
+    private static final class Samples {
+        private final LongAdder errors = new LongAdder();
+        private long[] nanos = new long[1024];
+        private int size;
+
+        synchronized void add(long value, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        synchronized EndpointResult result(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new EndpointResult(endpoint, size, errors.sum(), size / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
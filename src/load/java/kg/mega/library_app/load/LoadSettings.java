@@ -0,0 +1,51 @@
+package kg.mega.library_app.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load-test knobs, read from {@code load.*} system properties (set by the load-test Maven profile).
+ * A scale of 1 seeds 100k books, 10k users and 1M order history rows; smaller scales shrink every table alike.
+ */
+record LoadSettings(double scale,
+                    int clients,
+                    Duration warmup,
+                    Duration duration,
+                    long seed,
+                    String[] profiles,
+                    Map<String, Object> properties,
+                    Path result) {
+    static LoadSettings fromSystemProperties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (String pair : split(System.getProperty("load.properties", ""))) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("load.properties expects key=value pairs, got: " + pair);
+            }
+            properties.put(pair.substring(0, eq), pair.substring(eq + 1));
+        }
+        return new LoadSettings(
+                Double.parseDouble(System.getProperty("load.scale", "1")),
+                Integer.getInteger("load.clients", 200),
+                Duration.ofSeconds(Long.getLong("load.warmup", 10)),
+                Duration.ofSeconds(Long.getLong("load.duration", 60)),
+                Long.getLong("load.seed", 42),
+                split(System.getProperty("load.profiles", "")),
+                properties,
+                Path.of(System.getProperty("load.result", "target/load-test-result.json")));
+    }
+
+    int scaled(int full) {
+        return Math.max(1, (int) Math.round(full * scale));
+    }
+
+    private static String[] split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .toArray(String[]::new);
+    }
+}
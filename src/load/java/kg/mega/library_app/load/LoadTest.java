@@ -0,0 +1,74 @@
+package kg.mega.library_app.load;
+
+import kg.mega.library_app.Main;
+import kg.mega.library_app.services.AuthorSuggestService;
+import kg.mega.library_app.services.BookSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Boots the whole application on a random port against an in-memory H2 database in PostgreSQL mode,
+ * seeds it, drives the mixed scenario over HTTP and prints throughput and p50/p95/p99 per endpoint.
+ * Run with {@code mvn -P load-test}; see the profile in pom.xml for the {@code load.*} properties.
+ */
+@Slf4j
+public final class LoadTest {
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:load;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("server.port", "0");
+        properties.put("library.overdue.cron", "-");
+        properties.put("logging.level.kg.mega.library_app", "WARN");
+        properties.put("logging.level.kg.mega.library_app.load", "INFO");
+        properties.putAll(settings.properties());
+
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(Main.class)
+                .profiles(settings.profiles())
+                .run(arguments(properties))) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            Catalog catalog = new CatalogSeeder(jdbcTemplate, settings).seed();
+            context.getBean(BookSearchService.class).reindexAll();
+            context.getBean(AuthorSuggestService.class).reload();
+
+            URI baseUri = URI.create("http://localhost:" + context.getWebServer().getPort());
+            log.info("Driving {} clients against {} for {} s after {} s of warm-up.",
+                    settings.clients(), baseUri, settings.duration().toSeconds(), settings.warmup().toSeconds());
+            LoadReport report = new LoadDriver(baseUri, catalog, settings, jdbcTemplate).run();
+
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("scale", settings.scale());
+            run.put("clients", settings.clients());
+            run.put("duration_seconds", settings.duration().toSeconds());
+            run.put("profiles", String.join(",", settings.profiles()));
+            run.put("java", Runtime.version().toString());
+            report.print(System.out, settings.duration(), run);
+            report.writeJson(settings.result(), settings.duration(), run);
+            log.info("Results written to {}.", settings.result().toAbsolutePath());
+        }
+    }
+
+    /**
+     * Command-line arguments rank above application.properties, unlike builder default properties.
+     */
+    private static String[] arguments(Map<String, Object> properties) {
+        return properties.entrySet()
+                .stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+    }
+}
@@ -1,8 +1,10 @@
 package kg.mega.library_app.common;
 
+import jakarta.validation.ConstraintViolationException;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.DuplicateException;
 import kg.mega.library_app.common.exceptions.InadmissibleEditingException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
 import kg.mega.library_app.common.exceptions.MailSendingException;
 import lombok.extern.slf4j.Slf4j;
 import org.postgresql.util.PSQLException;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -73,4 +76,26 @@ public class ApiExceptionHandler {
         ApiException apiException = new ApiException(ex.getMessage(), forbidden);
         return new ResponseEntity<>(apiException, forbidden);
     }
+
+    @ExceptionHandler(value = {InvalidCursorException.class})
+    public ResponseEntity<?> invalidCursorException(InvalidCursorException ex) {
+        HttpStatus badRequest = BAD_REQUEST;
+        ApiException apiException = new ApiException(ex.getMessage(), badRequest);
+        return new ResponseEntity<>(apiException, badRequest);
+    }
+
+    @ExceptionHandler(value = {MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<?> argumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        HttpStatus badRequest = BAD_REQUEST;
+        ApiException apiException = new ApiException(
+                "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'", badRequest);
+        return new ResponseEntity<>(apiException, badRequest);
+    }
+
+    @ExceptionHandler(value = {ConstraintViolationException.class})
+    public ResponseEntity<?> constraintViolationException(ConstraintViolationException ex) {
+        HttpStatus badRequest = BAD_REQUEST;
+        ApiException apiException = new ApiException(ex.getMessage(), badRequest);
+        return new ResponseEntity<>(apiException, badRequest);
+    }
 }
@@ -0,0 +1,114 @@
+package kg.mega.library_app.common;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory modification counters for the catalog read endpoints.
+ * <p>
+ * Counters are bumped after the writing transaction commits, so a reader that sees a new tag
+ * also sees the committed rows. The epoch changes on every restart, which keeps tags handed out
+ * by a previous process from ever matching.
+ */
+@Component
+public class CatalogVersion {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong books = new AtomicLong();
+    private final AtomicLong reviewers = new AtomicLong();
+    private final Map<Long, AtomicLong> reviews = new ConcurrentHashMap<>();
+    private final CacheControl publicCacheControl;
+    private final CacheControl privateCacheControl = CacheControl.noCache().cachePrivate();
+
+    @Autowired
+    public CatalogVersion(@Value("${library.catalog.cache.shared-max-age:60}") long sharedMaxAge) {
+        this.publicCacheControl = CacheControl
+                .maxAge(Duration.ZERO)
+                .sMaxAge(Duration.ofSeconds(sharedMaxAge))
+                .mustRevalidate()
+                .cachePublic();
+    }
+
+    public void booksChanged() {
+        pendingChanges().ifPresentOrElse(pending -> pending.books = true, books::incrementAndGet);
+    }
+
+    public void reviewersChanged() {
+        pendingChanges().ifPresentOrElse(pending -> pending.reviewers = true, reviewers::incrementAndGet);
+    }
+
+    public void reviewsChanged(Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+        pendingChanges().ifPresentOrElse(pending -> pending.reviewedBooks.add(bookId), () -> bumpReviews(bookId));
+    }
+
+    public String booksTag() {
+        return epoch + "-" + books.get();
+    }
+
+    public String reviewsTag(Long bookId) {
+        AtomicLong version = reviews.get(bookId);
+        return epoch + "-" + reviewers.get() + "-" + (version == null ? 0 : version.get());
+    }
+
+    public CacheControl publicCacheControl() {
+        return publicCacheControl;
+    }
+
+    public CacheControl privateCacheControl() {
+        return privateCacheControl;
+    }
+
+    private void bumpReviews(Long bookId) {
+        reviews.computeIfAbsent(bookId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private Optional<PendingChanges> pendingChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return Optional.empty();
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            PendingChanges changes = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (changes.books) {
+                        books.incrementAndGet();
+                    }
+                    if (changes.reviewers) {
+                        reviewers.incrementAndGet();
+                    }
+                    changes.reviewedBooks.forEach(CatalogVersion.this::bumpReviews);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CatalogVersion.this);
+                }
+            });
+            pending = changes;
+        }
+        return Optional.of(pending);
+    }
+
+    private static final class PendingChanges {
+        boolean books;
+        boolean reviewers;
+        final Set<Long> reviewedBooks = new HashSet<>();
+    }
+}
@@ -0,0 +1,30 @@
+package kg.mega.library_app.common;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+
+public final class ConditionalResponses {
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Answers {@code If-None-Match} with 304 before the body is built, so a matching tag never reaches the database.
+     */
+    public static <T, E extends Exception> ResponseEntity<?> withETag(WebRequest request,
+                                                                      String etag,
+                                                                      CacheControl cacheControl,
+                                                                      Body<T, E> body) throws E {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+
+    @FunctionalInterface
+    public interface Body<T, E extends Exception> {
+        T get() throws E;
+    }
+}
@@ -0,0 +1,38 @@
+package kg.mega.library_app.common;
+
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
+
+import java.util.List;
+import java.util.function.Function;
+
+public final class CursorPages {
+    public static final int MAX_SIZE = 100;
+
+    private CursorPages() {
+    }
+
+    public static int limit(Integer size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code size + 1} as the limit: the extra row only tells
+     * that another page exists, so no count query is needed.
+     */
+    public static <V, R> CursorPageResp<R> page(List<V> rows,
+                                                int size,
+                                                Function<V, Long> id,
+                                                Function<List<V>, List<R>> mapper) {
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = CursorCodec.encode(id.apply(rows.get(size - 1)));
+        }
+        return CursorPageResp
+                .<R>builder()
+                .content(mapper.apply(rows))
+                .size(rows.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
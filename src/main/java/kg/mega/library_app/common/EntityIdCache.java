@@ -0,0 +1,54 @@
+package kg.mega.library_app.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+
+import static kg.mega.library_app.common.TransactionHooks.afterCommit;
+
+public class EntityIdCache<K> {
+    private final Cache<K, Long> cache;
+
+    public EntityIdCache(String name, MeterRegistry meterRegistry, long maxSize, Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    public Long get(K key) {
+        return key == null ? null : cache.getIfPresent(key);
+    }
+
+    public void put(K key, Long id) {
+        if (key == null || id == null) {
+            return;
+        }
+        afterCommit(() -> cache.put(key, id));
+    }
+
+    public void evict(K key) {
+        if (key == null) {
+            return;
+        }
+        cache.invalidate(key);
+        afterCommit(() -> cache.invalidate(key));
+    }
+
+    /**
+     * Drops every key mapped to {@code id}, for changes made without knowing the cached key,
+     * such as a cascaded delete or an update that renamed the entity.
+     */
+    public void evictId(Long id) {
+        if (id == null) {
+            return;
+        }
+        cache.asMap().values().removeIf(id::equals);
+        afterCommit(() -> cache.asMap().values().removeIf(id::equals));
+    }
+}
@@ -0,0 +1,35 @@
+package kg.mega.library_app.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.FLUSH_AFTER_WRITE_VALUE;
+
+public final class JsonStreams {
+    private JsonStreams() {
+    }
+
+    /**
+     * Writes the rows as one JSON array, serializing each element as it is read, and closes the stream.
+     * Elements are not flushed one by one, so the generator buffer and the response compressor see full blocks.
+     */
+    public static long writeArray(ObjectMapper objectMapper, Stream<?> rows, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (rows; JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartArray();
+            for (Iterator<?> it = rows.iterator(); it.hasNext(); count++) {
+                writer.writeValue(json, it.next());
+            }
+            json.writeEndArray();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,83 @@
+package kg.mega.library_app.common;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class PrefixIndex<V> {
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, Long> keys = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public synchronized void put(Long id, V value, Collection<String> names) {
+        if (id == null) {
+            return;
+        }
+        remove(id);
+        List<String> indexed = names
+                .stream()
+                .filter(Objects::nonNull)
+                .map(PrefixIndex::normalize)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .map(name -> name + ID_SEPARATOR + id)
+                .toList();
+        entries.put(id, new Entry<>(value, indexed));
+        indexed.forEach(key -> keys.put(key, id));
+    }
+
+    public synchronized void remove(Long id) {
+        Entry<V> entry = entries.remove(id);
+        if (entry != null) {
+            entry.keys().forEach(keys::remove);
+        }
+    }
+
+    public void clear() {
+        keys.clear();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public List<V> search(String prefix, int limit) {
+        String normalized = prefix == null ? "" : normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        ConcurrentNavigableMap<String, Long> matches = keys.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long id : matches.values()) {
+            if (ids.add(id) && ids.size() == limit) {
+                break;
+            }
+        }
+
+        List<V> values = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Entry<V> entry = entries.get(id);
+            if (entry != null) {
+                values.add(entry.value());
+            }
+        }
+        return values;
+    }
+
+    public static String normalize(String value) {
+        return Normalizer
+                .normalize(value, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+
+    private record Entry<V>(V value, List<String> keys) {
+    }
+}
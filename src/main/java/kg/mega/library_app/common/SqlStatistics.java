@@ -0,0 +1,44 @@
+package kg.mega.library_app.common;
+
+import java.time.Duration;
+
+/**
+ * Statements and JDBC time of the current request, filled in by {@link SqlStatisticsListener}.
+ * Only statements issued through Hibernate on the request thread are counted; plain {@code JdbcTemplate}
+ * calls and work handed to other threads are not.
+ */
+public final class SqlStatistics {
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    private SqlStatistics() {
+    }
+
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void record(long nanos) {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+            statistics.nanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public Duration getTime() {
+        return Duration.ofNanos(nanos);
+    }
+}
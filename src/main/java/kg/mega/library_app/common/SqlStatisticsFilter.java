@@ -0,0 +1,116 @@
+package kg.mega.library_app.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements and JDBC time of every request, records them per endpoint and warns
+ * about requests over the statement or time budget. With {@code library.sql.debug-headers} the
+ * figures are also returned as {@value #STATEMENTS_HEADER} and {@value #TIME_HEADER}, as of the
+ * moment the response is committed.
+ */
+@Slf4j
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final long timeBudgetMillis;
+    private final boolean debugHeaders;
+
+    @Autowired
+    public SqlStatisticsFilter(MeterRegistry meterRegistry,
+                               @Value("${library.sql.budget.statements:50}") int statementBudget,
+                               @Value("${library.sql.budget.time-ms:500}") long timeBudgetMillis,
+                               @Value("${library.sql.debug-headers:false}") boolean debugHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.debugHeaders = debugHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.start();
+        try {
+            filterChain.doFilter(request, debugHeaders ? new HeaderWritingResponse(response, statistics) : response);
+        } finally {
+            SqlStatistics.stop();
+            if (debugHeaders && !response.isCommitted()) {
+                writeHeaders(response, statistics);
+            }
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary
+                .builder("library.http.sql.statements")
+                .description("SQL statements per HTTP request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        Timer
+                .builder("library.http.sql.time")
+                .description("JDBC execution time per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getTime());
+
+        long millis = statistics.getTime().toMillis();
+        if (statistics.getStatements() > statementBudget || millis > timeBudgetMillis) {
+            log.warn("{} {} ({}) ran {} SQL statements in {} ms, over the budget of {} statements / {} ms",
+                    request.getMethod(), request.getRequestURI(), uri, statistics.getStatements(), millis,
+                    statementBudget, timeBudgetMillis);
+        } else {
+            log.debug("{} {} ran {} SQL statements in {} ms",
+                    request.getMethod(), request.getRequestURI(), statistics.getStatements(), millis);
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, SqlStatistics statistics) {
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(statistics.getStatements()));
+        response.setHeader(TIME_HEADER, String.valueOf(statistics.getTime().toMillis()));
+    }
+
+    private static final class HeaderWritingResponse extends OnCommittedResponseWrapper {
+        private final SqlStatistics statistics;
+
+        private HeaderWritingResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders((HttpServletResponse) getResponse(), statistics);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package kg.mega.library_app.common;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Registered through {@code hibernate.session.events.auto}, so Hibernate creates one per session.
+ * Each executed statement or batch counts once, timed from execute start to end.
+ */
+public class SqlStatisticsListener extends BaseSessionEventListener {
+    private long executeStart = -1;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        finish();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        finish();
+    }
+
+    private void finish() {
+        if (executeStart >= 0) {
+            SqlStatistics.record(System.nanoTime() - executeStart);
+            executeStart = -1;
+        }
+    }
+}
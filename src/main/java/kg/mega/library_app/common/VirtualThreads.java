@@ -0,0 +1,33 @@
+package kg.mega.library_app.common;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ThreadFactory;
+
+public final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns a factory of named virtual threads ({@code prefix0}, {@code prefix1}, ...).
+     * The Java 21 API is looked up at runtime so the application still builds and runs on Java 17
+     * as long as the virtual-threads profile is not active.
+     *
+     * @throws IllegalStateException if the running JVM has no virtual threads
+     */
+    public static ThreadFactory factory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException ex) {
+            throw new IllegalStateException("Virtual threads require Java 21, running on " + Runtime.version(), ex);
+        } catch (InvocationTargetException ex) {
+            throw new IllegalStateException("Virtual threads are not available: " + ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+}
@@ -0,0 +1,7 @@
+package kg.mega.library_app.common.exceptions;
+
+public class InvalidCursorException extends Exception {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -24,7 +24,7 @@ public class ApplicationConfig {
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepo.findByEmail(username)
+        return username -> userRepo.findPrincipalByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
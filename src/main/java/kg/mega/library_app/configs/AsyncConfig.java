@@ -0,0 +1,75 @@
+package kg.mega.library_app.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+    @Lazy
+    @Primary
+    @Profile("!virtual-threads")
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor mailDispatchExecutor(
+            TaskExecutorBuilder builder,
+            @Value("${library.mail.outbox.pool-size:4}") int poolSize,
+            @Value("${library.mail.outbox.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = builder
+                .corePoolSize(poolSize)
+                .maxPoolSize(poolSize)
+                .queueCapacity(queueCapacity)
+                .threadNamePrefix("mail-dispatch-")
+                .build();
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Bean
+    @Profile("!virtual-threads")
+    public ThreadPoolTaskExecutor registrationMailExecutor(
+            TaskExecutorBuilder builder,
+            @Value("${library.mail.registration.pool-size:2}") int poolSize,
+            @Value("${library.mail.registration.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = builder
+                .corePoolSize(poolSize)
+                .maxPoolSize(poolSize)
+                .queueCapacity(queueCapacity)
+                .threadNamePrefix("registration-mail-")
+                .build();
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor searchIndexExecutor(
+            TaskExecutorBuilder builder,
+            @Value("${library.search.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = builder
+                .corePoolSize(1)
+                .maxPoolSize(1)
+                .queueCapacity(queueCapacity)
+                .threadNamePrefix("search-index-")
+                .build();
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,37 @@
+package kg.mega.library_app.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives the Hikari pool a fixed size of {@code cores * 2 + 1} connections, the starting point HikariCP
+ * recommends, unless {@code library.datasource.pool-size} sets one. Runs after property binding and
+ * before the pool starts, so it wins over {@code spring.datasource.hikari.*} sizes.
+ */
+@Slf4j
+
+@Component
+@Profile("prod")
+public class HikariPoolSizer implements BeanPostProcessor {
+    private final int poolSize;
+
+    public HikariPoolSizer(@Value("${library.datasource.pool-size:0}") int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            int size = poolSize > 0 ? poolSize : cores * 2 + 1;
+            dataSource.setMaximumPoolSize(size);
+            dataSource.setMinimumIdle(size);
+            log.info("Hikari pool '{}' sized to {} connections on {} cores", dataSource.getPoolName(), size, cores);
+        }
+        return bean;
+    }
+}
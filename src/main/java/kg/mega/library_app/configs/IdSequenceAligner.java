@@ -0,0 +1,52 @@
+package kg.mega.library_app.configs;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Slf4j
+
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceAligner {
+    private static final int ALLOCATION_SIZE = 50;
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "books", "books_seq",
+            "authors", "authors_seq",
+            "genres", "genres_seq"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        if (!isPostgres()) {
+            return;
+        }
+        SEQUENCES.forEach((table, sequence) -> {
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT CASE WHEN m.max_id + ? > s.last_value THEN setval('" + sequence + "', m.max_id + ?) " +
+                            "ELSE s.last_value END " +
+                            "FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM " + table + ") m, " + sequence + " s",
+                    Long.class, ALLOCATION_SIZE, ALLOCATION_SIZE);
+            log.info("Sequence {} aligned with table {} at {}.", sequence, table, value);
+        });
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+}
@@ -0,0 +1,53 @@
+package kg.mega.library_app.configs;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+
+@Component
+@DependsOn("entityManagerFactory")
+public class PostgresIndexInitializer {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PostgresIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void createIndexes() {
+        if (!isPostgres()) {
+            return;
+        }
+        execute("CREATE INDEX IF NOT EXISTS idx_genres_title_prefix ON genres (title varchar_pattern_ops)");
+        // The overdue reminder pages by id through orders that are neither returned nor reminded yet.
+        execute("CREATE INDEX IF NOT EXISTS idx_orders_to_remind ON orders (id) " +
+                "WHERE actual_return_date IS NULL AND last_reminded_date IS NULL");
+        if (execute("CREATE EXTENSION IF NOT EXISTS pg_trgm")) {
+            execute("CREATE INDEX IF NOT EXISTS idx_genres_title_trgm ON genres USING gin (title gin_trgm_ops)");
+        }
+    }
+
+    private boolean execute(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+            return true;
+        } catch (DataAccessException ex) {
+            log.warn("Could not execute '{}': {}", sql, ex.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+}
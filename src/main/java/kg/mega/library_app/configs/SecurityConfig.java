@@ -40,6 +40,7 @@ public class SecurityConfig {
                                 "/api-docs",
                                 "/api-docs.yaml",
                                 "/swagger-ui/**").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
                         .anyRequest().authenticated())
                 .sessionManagement(sessionManagement -> sessionManagement
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
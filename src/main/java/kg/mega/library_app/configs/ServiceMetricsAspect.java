@@ -0,0 +1,72 @@
+package kg.mega.library_app.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every method of the {@code *Service} interfaces as {@value #METRIC}, tagged by service, method,
+ * outcome and exception in the same way Spring Data tags {@code spring.data.repository.invocations}.
+ * Runs outside the transaction advice so commit time is part of the measurement.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+    public static final String METRIC = "library.service.invocations";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, String> serviceNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* kg.mega.library_app.services.*Service.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        String exception = "None";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = "ERROR";
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            sample.stop(Timer
+                    .builder(METRIC)
+                    .description("Invocations of the service layer")
+                    .tag("service", serviceNames.computeIfAbsent(method, key -> serviceName(joinPoint.getTarget(), key)))
+                    .tag("method", method.getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String serviceName(Object target, Method method) {
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(AopUtils.getTargetClass(target))) {
+            if (type.getSimpleName().endsWith("Service")
+                    && ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes())) {
+                return type.getSimpleName();
+            }
+        }
+        return method.getDeclaringClass().getSimpleName();
+    }
+}
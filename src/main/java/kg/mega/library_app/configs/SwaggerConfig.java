@@ -22,6 +22,8 @@ import org.springframework.context.annotation.Configuration;
                         MailSendException -> INTERNAL_SERVER_ERROR
                         
                         InadmissibleEditingException -> FORBIDDEN
+                        
+                        InvalidCursorException -> BAD_REQUEST
                         """, version = "1.0.0",
                 contact = @Contact(
                         name = "Abdykadyrov Aktan",
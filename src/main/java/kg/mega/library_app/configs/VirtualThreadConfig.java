@@ -0,0 +1,75 @@
+package kg.mega.library_app.configs;
+
+import kg.mega.library_app.common.VirtualThreads;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Opt-in execution on virtual threads (Java 21+), enabled with the {@code virtual-threads} profile.
+ * Tomcat requests, {@code @Async} methods, MVC streaming responses and {@code @Scheduled} jobs then block
+ * on JDBC and SMTP without holding a platform thread; the Hikari pool becomes the only concurrency limit.
+ * Registration mails get a virtual thread each but still wait on a semaphore, so SMTP sees no more than
+ * {@code library.mail.registration.pool-size} connections. The bounded mail-dispatch and single-threaded
+ * search-index executors are kept as they are on purpose.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+        executor.setThreadFactory(VirtualThreads.factory("tomcat-handler-"));
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Primary
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public SimpleAsyncTaskExecutor applicationTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+        executor.setThreadFactory(VirtualThreads.factory("task-"));
+        return executor;
+    }
+
+    @Bean
+    public SimpleAsyncTaskExecutor registrationMailExecutor(
+            @Value("${library.mail.registration.pool-size:2}") int poolSize) {
+        Semaphore permits = new Semaphore(poolSize);
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+        executor.setThreadFactory(VirtualThreads.factory("registration-mail-"));
+        executor.setTaskDecorator(task -> () -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(TaskSchedulerBuilder builder) {
+        ThreadPoolTaskScheduler scheduler = builder.build();
+        scheduler.setThreadFactory(VirtualThreads.factory("scheduling-"));
+        return scheduler;
+    }
+}
@@ -0,0 +1,33 @@
+package kg.mega.library_app.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Locale;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    /**
+     * Request parameters name enum constants in any case ({@code ?match=prefix}), as the API docs spell them
+     * in lower case. Registered after Spring's own String to Enum converter, so it takes precedence.
+     */
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverterFactory(new CaseInsensitiveEnumConverterFactory());
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final class CaseInsensitiveEnumConverterFactory implements ConverterFactory<String, Enum> {
+        @Override
+        public <T extends Enum> Converter<String, T> getConverter(Class<T> targetType) {
+            return source -> {
+                String name = source.trim();
+                return name.isEmpty() ? null : (T) Enum.valueOf(targetType, name.toUpperCase(Locale.ROOT));
+            };
+        }
+    }
+}
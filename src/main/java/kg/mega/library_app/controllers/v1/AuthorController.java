@@ -7,6 +7,7 @@ import jakarta.validation.Valid;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.models.dto.requests.AuthorReq;
 import kg.mega.library_app.services.AuthorService;
+import kg.mega.library_app.services.AuthorSuggestService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,10 +20,35 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Author controller")
 public class AuthorController {
     private final AuthorService authorService;
+    private final AuthorSuggestService authorSuggestService;
 
     @Autowired
-    public AuthorController(AuthorService authorService) {
+    public AuthorController(AuthorService authorService, AuthorSuggestService authorSuggestService) {
         this.authorService = authorService;
+        this.authorSuggestService = authorSuggestService;
+    }
+
+    @Operation(summary = "Suggest authors by name prefix",
+            description = """
+                    Этот метод возвращает список объектов AuthorSuggestionResp авторов, имя или фамилия которых начинается с переданного префикса.
+                    
+                    Поиск не учитывает регистр и диакритические знаки и выполняется по индексу в памяти, без обращения к базе данных.
+                    
+                    Параметр limit ограничивает количество подсказок.
+                    
+                    This method returns a list of AuthorSuggestionResp objects for authors whose first or last name starts with the given prefix.
+                    
+                    The search ignores case and diacritics and is served from an in-memory index without querying the database.
+                    
+                    The limit parameter caps the number of suggestions.
+                    """)
+    @SecurityRequirement(name = "JWT")
+    @GetMapping("/suggest")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<?> suggestAuthors(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        return ResponseEntity.ok(authorSuggestService.suggest(prefix, limit));
     }
 
     @Operation(summary = "Update author information",
@@ -4,30 +4,63 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import kg.mega.library_app.common.CatalogVersion;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.DuplicateException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
+import kg.mega.library_app.models.constants.ExportFormat;
+import kg.mega.library_app.models.constants.GenreMatch;
 import kg.mega.library_app.models.dto.requests.AuthorFullNameReq;
 import kg.mega.library_app.models.dto.requests.BookDetailsReq;
 import kg.mega.library_app.models.dto.requests.BookReq;
+import kg.mega.library_app.services.BookExportService;
+import kg.mega.library_app.services.BookImportService;
+import kg.mega.library_app.services.BookSearchService;
 import kg.mega.library_app.services.BookService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+import static kg.mega.library_app.common.ConditionalResponses.withETag;
+import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 @RestController
 @RequestMapping("/books")
 @Validated
 @Tag(name = "Book controller")
 public class BookController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final BookSearchService bookSearchService;
+    private final CatalogVersion catalogVersion;
 
     @Autowired
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService,
+                          BookImportService bookImportService,
+                          BookExportService bookExportService,
+                          BookSearchService bookSearchService,
+                          CatalogVersion catalogVersion) {
         this.bookService = bookService;
+        this.bookImportService = bookImportService;
+        this.bookExportService = bookExportService;
+        this.bookSearchService = bookSearchService;
+        this.catalogVersion = catalogVersion;
     }
 
     @Operation(summary = "Get book list",
@@ -36,15 +69,59 @@ public class BookController {
                     
                     Также этот метод использует пагинацию и выводит по 5 книг за раз.
                     
+                    Если передан параметр after, используется курсорная пагинация: ответ содержит next_cursor для следующей страницы и не выполняет подсчёт всех книг.
+                    
+                    Для первой страницы передайте пустой after.
+                    
+                    Если курсор некорректен, метод выбрасывает InvalidCursorException.
+                    
+                    Ответ содержит ETag версии каталога: при совпадающем If-None-Match метод возвращает 304 без обращения к базе данных.
+                    
                     This method returns a list of BookResp objects of all the books in the library.
                     
                     This method also uses pagination and outputs 5 books at a time.
+                    
+                    If the after parameter is passed, cursor pagination is used: the response contains next_cursor for the next page and does not count all books.
+                    
+                    Pass an empty after for the first page.
+                    
+                    If the cursor is invalid, the method throws InvalidCursorException.
+                    
+                    The response carries an ETag of the catalog version: a matching If-None-Match is answered with 304 without touching the database.
                     """)
     @GetMapping("/all")
     public ResponseEntity<?> getAllBooks(
             @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "5") Integer size) {
-        return ResponseEntity.ok(bookService.getAllBooks(page, size));
+            @RequestParam(defaultValue = "5") Integer size,
+            @RequestParam(required = false) String after,
+            WebRequest request) throws InvalidCursorException {
+        return withETag(request, catalogVersion.booksTag(), catalogVersion.publicCacheControl(), () -> after != null
+                ? bookService.getAllBooksAfter(after, size)
+                : bookService.getAllBooks(page, size));
+    }
+
+    @Operation(summary = "Search books",
+            description = """
+                    Этот метод выполняет полнотекстовый поиск книг по названию, описанию, имени автора и жанрам и возвращает список объектов BookResp.
+                    
+                    Результаты отсортированы по релевантности: совпадения в названии важнее совпадений в авторе, жанрах и описании. Последнее слово запроса ищется также по префиксу.
+                    
+                    Также этот метод использует пагинацию и выводит по 10 книг за раз. Размер страницы ограничен 100 книгами, а поиск возвращает не более 1000 первых результатов.
+                    
+                    This method performs a full-text search of books by title, description, author name and genres and returns a list of BookResp objects.
+                    
+                    The results are ranked by relevance: matches in the title weigh more than matches in the author, genres and description. The last word of the query is also matched as a prefix.
+                    
+                    This method also uses pagination and outputs 10 books at a time. The page size is capped at 100 books and the search returns no more than the first 1000 results.
+                    """)
+    @SecurityRequirement(name = "JWT")
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<?> searchBooks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") @Min(0) Integer page,
+            @RequestParam(defaultValue = "10") Integer size) throws IOException {
+        return ResponseEntity.ok(bookSearchService.search(q, page, size));
     }
 
     @Operation(summary = "Get books based on genre ID",
@@ -55,38 +132,55 @@ public class BookController {
                     
                     Если ID жанра не найдено метод выбрасывает DataNotFoundException.
                     
+                    Ответ содержит ETag версии каталога: при совпадающем If-None-Match метод возвращает 304 без обращения к базе данных.
+                    
                     This method returns a list of BookResp objects of all books that are associated with a genre.
                     
                     The search is done by genre ID.
                     
                     If no genre ID is found the method throws DataNotFoundException.
+                    
+                    The response carries an ETag of the catalog version: a matching If-None-Match is answered with 304 without touching the database.
                     """)
     @SecurityRequirement(name = "JWT")
     @GetMapping("/by_genre_id/{id}")
     @PreAuthorize("hasRole('ROLE_USER')")
-    public ResponseEntity<?> getBooksByGenreId(@PathVariable Long id) throws DataNotFoundException {
-        return ResponseEntity.ok(bookService.getBookRespByGenre(id));
+    public ResponseEntity<?> getBooksByGenreId(@PathVariable Long id, WebRequest request) throws DataNotFoundException {
+        return withETag(request, catalogVersion.booksTag(), catalogVersion.privateCacheControl(),
+                () -> bookService.getBookRespByGenre(id));
     }
 
     @Operation(summary = "Get books by genre's title",
             description = """
                     Этот метод возвращает список объектов BookResp всех книг которые связаны с жанром.
                     
-                    Поиск производится по названию жанра.
+                    Поиск производится по названию жанра: match=contains ищет жанры, содержащие строку, match=prefix ищет жанры, начинающиеся с неё.
+                    
+                    Каждая книга возвращается один раз, даже если с запросом совпадают несколько её жанров.
+                    
+                    Также этот метод использует пагинацию и выводит по 20 книг за раз.
                     
                     Если название жанра не найдено метод выбрасывает DataNotFoundException.
                     
                     This method returns a list of BookResp objects of all books that are associated with a genre.
                     
-                    The search is done by genre name.
+                    The search is done by genre name: match=contains finds genres containing the string, match=prefix finds genres starting with it.
+                    
+                    Every book is returned once, even if several of its genres match the query.
+                    
+                    This method also uses pagination and outputs 20 books at a time.
                     
                     If no genre name is found the method throws DataNotFoundException.
                     """)
     @SecurityRequirement(name = "JWT")
     @GetMapping("by_genre_title/{title}")
     @PreAuthorize("hasRole('ROLE_USER')")
-    public ResponseEntity<?> getBooksByGenreTitle(@PathVariable String title) throws DataNotFoundException {
-        return ResponseEntity.ok(bookService.getBookRespByGenreTitle(title));
+    public ResponseEntity<?> getBooksByGenreTitle(
+            @PathVariable String title,
+            @RequestParam(defaultValue = "CONTAINS") GenreMatch match,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "20") Integer size) throws DataNotFoundException {
+        return ResponseEntity.ok(bookService.getBookRespByGenreTitle(title, match, page, size));
     }
 
     @Operation(summary = "Get books by author ID",
@@ -97,17 +191,22 @@ public class BookController {
                     
                     Если ID автора не найдено метод выбрасывает DataNotFoundException.
                     
+                    Ответ содержит ETag версии каталога: при совпадающем If-None-Match метод возвращает 304 без обращения к базе данных.
+                    
                     This method returns a list of BookResp objects of all books that are associated with the author.
                     
                     The search is done by author ID.
                     
                     If no author ID is found the method throws a DataNotFoundException.
+                    
+                    The response carries an ETag of the catalog version: a matching If-None-Match is answered with 304 without touching the database.
                     """)
     @SecurityRequirement(name = "JWT")
     @GetMapping("by_author_id/{id}")
     @PreAuthorize("hasRole('ROLE_USER')")
-    public ResponseEntity<?> getBooksByAuthorId(@PathVariable Long id) throws DataNotFoundException {
-        return ResponseEntity.ok(bookService.getBooksByAuthorId(id));
+    public ResponseEntity<?> getBooksByAuthorId(@PathVariable Long id, WebRequest request) throws DataNotFoundException {
+        return withETag(request, catalogVersion.booksTag(), catalogVersion.privateCacheControl(),
+                () -> bookService.getBooksByAuthorId(id));
     }
 
     @Operation(summary = "Get author's books",
@@ -168,6 +267,74 @@ public class BookController {
         return ResponseEntity.status(CREATED).body(bookService.createBook(req));
     }
 
+    @Operation(summary = "Import books",
+            description = """
+                    Этот метод импортирует каталог книг одним запросом: JSON массив объектов BookReq (application/json) или CSV файл (text/csv).
+                    
+                    CSV должен содержать строку заголовков: title, description, publication_year, quantity, author_firstname, author_lastname, author_date_of_birth, author_birthplace, genres. Жанры перечисляются через символ |.
+                    
+                    Авторы и жанры ищутся пакетно и создаются, если их нет. Книги, которые уже есть в библиотеке или повторяются в файле, пропускаются.
+                    
+                    Каждая строка валидируется, невалидные строки не прерывают импорт и попадают в список errors.
+                    
+                    Метод возвращает объект BookImportResp с количеством полученных, импортированных, повторяющихся и отклонённых строк.
+                    
+                    This method imports a book catalog in one request: a JSON array of BookReq objects (application/json) or a CSV file (text/csv).
+                    
+                    The CSV must contain a header row: title, description, publication_year, quantity, author_firstname, author_lastname, author_date_of_birth, author_birthplace, genres. Genres are separated by the | character.
+                    
+                    Authors and genres are looked up in batches and created if missing. Books that already exist in the library or repeat within the file are skipped.
+                    
+                    Every row is validated, invalid rows do not stop the import and are listed in errors.
+                    
+                    The method returns a BookImportResp object with the number of received, imported, duplicate and rejected rows.
+                    """)
+    @SecurityRequirement(name = "JWT")
+    @PostMapping(value = "/import", consumes = APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<?> importBooksJson(InputStream body) throws IOException {
+        return ResponseEntity.ok(bookImportService.importJson(body));
+    }
+
+    @Operation(summary = "Import books from CSV",
+            description = """
+                    Этот метод принимает CSV файл (text/csv) и работает так же, как импорт из JSON.
+                    
+                    This method accepts a CSV file (text/csv) and works the same way as the JSON import.
+                    """)
+    @SecurityRequirement(name = "JWT")
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<?> importBooksCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(bookImportService.importCsv(body));
+    }
+
+    @Operation(summary = "Export books",
+            description = """
+                    Этот метод выгружает весь каталог книг в формате CSV (format=csv) или NDJSON (format=ndjson), по одной книге на строку.
+                    
+                    Данные читаются из базы потоком и сразу пишутся в ответ, поэтому выгрузка не загружает весь каталог в память.
+                    
+                    CSV выгрузка использует те же колонки, что и импорт книг, и может быть импортирована обратно.
+                    
+                    This method exports the whole book catalog as CSV (format=csv) or NDJSON (format=ndjson), one book per line.
+                    
+                    The data is streamed from the database straight into the response, so the export does not load the whole catalog into memory.
+                    
+                    The CSV export uses the same columns as the book import and can be imported back.
+                    """)
+    @SecurityRequirement(name = "JWT")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(defaultValue = "CSV") ExportFormat format) {
+        String filename = "books." + format.name().toLowerCase(Locale.ROOT);
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> bookExportService.exportBooks(format, out));
+    }
+
     @Operation(summary = "Update entire book",
             description = """
                     Этот метод принимает ID книги, все данные о книге через объект BookReq.
@@ -5,15 +5,23 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.InadmissibleEditingException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
+import kg.mega.library_app.models.dto.requests.OrderFilterReq;
 import kg.mega.library_app.models.dto.requests.OrderReq;
 import kg.mega.library_app.services.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
 
 @RestController
 @RequestMapping("/orders")
@@ -31,13 +39,63 @@ public class OrderController {
             description = """
                     Этот метод возвращает список объектов OrderResp всех объектов Order в базе данных.
                     
+                    Список можно отфильтровать по user_id, book_id, признаку возврата returned и диапазону дат заказа from/to.
+                    
+                    Список выдаётся страницами не более 100 элементов по курсору: ответ содержит next_cursor, который передаётся в параметре after для следующей страницы. Для первой страницы after не передаётся.
+                    
+                    Если курсор некорректен, метод выбрасывает InvalidCursorException.
+                    
                     This method returns the list of OrderResp objects of all Order objects in the database.
+                    
+                    The list can be filtered by user_id, book_id, the returned flag and the from/to order date range.
+                    
+                    The list is returned in cursor pages of at most 100 elements: the response contains next_cursor, which is passed as the after parameter for the next page. Omit after for the first page.
+                    
+                    If the cursor is invalid, the method throws InvalidCursorException.
                     """)
     @SecurityRequirement(name = "JWT")
     @GetMapping("/all")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<?> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<?> getAllOrders(
+            @RequestParam(value = "user_id", required = false) Long userId,
+            @RequestParam(value = "book_id", required = false) Long bookId,
+            @RequestParam(required = false) Boolean returned,
+            @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") Integer size) throws InvalidCursorException {
+        return ResponseEntity.ok(orderService.getOrders(OrderFilterReq
+                .builder()
+                .userId(userId)
+                .bookId(bookId)
+                .returned(returned)
+                .from(from)
+                .to(to)
+                .build(), after, size));
+    }
+
+    @Operation(summary = "Export order list",
+            description = """
+                    Этот метод возвращает список объектов OrderResp всех объектов Order в базе данных.
+                    
+                    Используйте этот метод для полной выгрузки; для просмотра используйте постраничный /all.
+                    
+                    Ответ передаётся потоком: элементы сериализуются по мере чтения из базы данных, не собираясь в список в памяти.
+                    
+                    This method returns the list of OrderResp objects of all Order objects in the database.
+                    
+                    Use this method for a full dump; use the paged /all for browsing.
+                    
+                    The response is streamed: elements are serialized as they are read from the database instead of being collected into an in-memory list.
+                    """)
+    @SecurityRequirement(name = "JWT")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        return ResponseEntity
+                .ok()
+                .contentType(APPLICATION_JSON)
+                .body(out -> orderService.writeAllOrders(out));
     }
 
     @Operation(summary = "Check out book",
@@ -81,6 +139,8 @@ public class OrderController {
                     
                     Если эту книгу брал один юзер, но пытается возвратить другой юзер, выбрасывает InadmissibleEditingException.
                     
+                    Если книга по этому заказу уже возвращена, выбрасывает InadmissibleEditingException.
+                    
                     Если по ID объект Order не найден, выбрасывает DataNotFoundException.
                     
                     This method returns the book to the library.
@@ -93,6 +153,8 @@ public class OrderController {
                     
                     If this book was borrowed by one user but another user tries to return it, it throws InadmissibleEditingException.
                     
+                    If the book of this order has already been returned, it throws InadmissibleEditingException.
+                    
                     If Order object is not found by ID, it throws DataNotFoundException.
                     """)
     @SecurityRequirement(name = "JWT")
@@ -3,15 +3,26 @@ package kg.mega.library_app.controllers.v1;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
+import kg.mega.library_app.models.constants.OrderStatus;
+import kg.mega.library_app.models.dto.requests.OrderHistoryFilterReq;
 import kg.mega.library_app.services.OrderHistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
 
 @RestController
 @RequestMapping("/order_history")
@@ -31,15 +42,69 @@ public class OrderHistoryController {
                     
                     То есть этот метод показывает всю историю циркуляции книг.
                     
+                    Список можно отфильтровать по order_id, user_id, статусу status и диапазону дат from/to.
+                    
+                    Список выдаётся страницами не более 100 элементов по курсору: ответ содержит next_cursor, который передаётся в параметре after для следующей страницы. Для первой страницы after не передаётся.
+                    
+                    Если курсор некорректен, метод выбрасывает InvalidCursorException.
+                    
                     This method returns a list of OrderHistoryResp objects of all OrderHistory objects.
                     
                     That is, this method shows the entire circulation history of the books.
+                    
+                    The list can be filtered by order_id, user_id, status and the from/to date range.
+                    
+                    The list is returned in cursor pages of at most 100 elements: the response contains next_cursor, which is passed as the after parameter for the next page. Omit after for the first page.
+                    
+                    If the cursor is invalid, the method throws InvalidCursorException.
                     """)
     @SecurityRequirement(name = "JWT")
     @GetMapping("/all")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<?> getAllOrderHistory() {
-        return ResponseEntity.ok(orderHistoryService.getAllOrderHistory());
+    public ResponseEntity<?> getAllOrderHistory(
+            @RequestParam(value = "order_id", required = false) Long orderId,
+            @RequestParam(value = "user_id", required = false) Long userId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") Integer size) throws InvalidCursorException {
+        return ResponseEntity.ok(orderHistoryService.getOrderHistory(OrderHistoryFilterReq
+                .builder()
+                .orderId(orderId)
+                .userId(userId)
+                .status(status)
+                .from(from)
+                .to(to)
+                .build(), after, size));
+    }
+
+    @Operation(summary = "Export complete order history",
+            description = """
+                    Этот метод возвращает список объектов OrderHistoryResp всех объектов OrderHistory.
+                    
+                    То есть этот метод показывает всю историю циркуляции книг.
+                    
+                    Используйте этот метод для полной выгрузки; для просмотра используйте постраничный /all.
+                    
+                    Ответ передаётся потоком: элементы сериализуются по мере чтения из базы данных, не собираясь в список в памяти.
+                    
+                    This method returns a list of OrderHistoryResp objects of all OrderHistory objects.
+                    
+                    That is, this method shows the entire circulation history of the books.
+                    
+                    Use this method for a full dump; use the paged /all for browsing.
+                    
+                    The response is streamed: elements are serialized as they are read from the database instead of being collected into an in-memory list.
+                    """)
+    @SecurityRequirement(name = "JWT")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrderHistory() {
+        return ResponseEntity
+                .ok()
+                .contentType(APPLICATION_JSON)
+                .body(out -> orderHistoryService.writeAllOrderHistory(out));
     }
 
     @Operation(summary = "Get history by order",
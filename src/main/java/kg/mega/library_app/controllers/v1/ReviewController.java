@@ -4,8 +4,11 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import kg.mega.library_app.common.CatalogVersion;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.InadmissibleEditingException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
+import kg.mega.library_app.models.dto.requests.ReviewFilterReq;
 import kg.mega.library_app.models.dto.requests.ReviewReq;
 import kg.mega.library_app.models.dto.requests.ReviewUpdateReq;
 import kg.mega.library_app.services.ReviewService;
@@ -14,8 +17,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import static kg.mega.library_app.common.ConditionalResponses.withETag;
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
 
 @RestController
 @RequestMapping("/reviews")
@@ -23,10 +30,12 @@ import static org.springframework.http.HttpStatus.CREATED;
 @Tag(name = "Review controller")
 public class ReviewController {
     private final ReviewService reviewService;
+    private final CatalogVersion catalogVersion;
 
     @Autowired
-    public ReviewController(ReviewService reviewService) {
+    public ReviewController(ReviewService reviewService, CatalogVersion catalogVersion) {
         this.reviewService = reviewService;
+        this.catalogVersion = catalogVersion;
     }
 
     @Operation(summary = "Add new review",
@@ -46,26 +55,75 @@ public class ReviewController {
             description = """
                     Этот метод возвращает список объектов ReviewResp всех существующих отзывов.
                     
+                    Список можно отфильтровать по book_id и user_id.
+                    
+                    Список выдаётся страницами не более 100 элементов по курсору: ответ содержит next_cursor, который передаётся в параметре after для следующей страницы. Для первой страницы after не передаётся.
+                    
+                    Если курсор некорректен, метод выбрасывает InvalidCursorException.
+                    
                     This method returns a list of ReviewResp objects of all existing reviews.
+                    
+                    The list can be filtered by book_id and user_id.
+                    
+                    The list is returned in cursor pages of at most 100 elements: the response contains next_cursor, which is passed as the after parameter for the next page. Omit after for the first page.
+                    
+                    If the cursor is invalid, the method throws InvalidCursorException.
                     """)
     @SecurityRequirement(name = "JWT")
     @GetMapping("/all")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<?> getAllReviews() {
-        return ResponseEntity.ok(reviewService.getAllReview());
+    public ResponseEntity<?> getAllReviews(
+            @RequestParam(value = "book_id", required = false) Long bookId,
+            @RequestParam(value = "user_id", required = false) Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") Integer size) throws InvalidCursorException {
+        return ResponseEntity.ok(reviewService.getReviews(ReviewFilterReq
+                .builder()
+                .bookId(bookId)
+                .userId(userId)
+                .build(), after, size));
+    }
+
+    @Operation(summary = "Export review list",
+            description = """
+                    Этот метод возвращает список объектов ReviewResp всех существующих отзывов.
+                    
+                    Используйте этот метод для полной выгрузки; для просмотра используйте постраничный /all.
+                    
+                    Ответ передаётся потоком: элементы сериализуются по мере чтения из базы данных, не собираясь в список в памяти.
+                    
+                    This method returns a list of ReviewResp objects of all existing reviews.
+                    
+                    Use this method for a full dump; use the paged /all for browsing.
+                    
+                    The response is streamed: elements are serialized as they are read from the database instead of being collected into an in-memory list.
+                    """)
+    @SecurityRequirement(name = "JWT")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportReviews() {
+        return ResponseEntity
+                .ok()
+                .contentType(APPLICATION_JSON)
+                .body(out -> reviewService.writeAllReviews(out));
     }
 
     @Operation(summary = "Retrieve book reviews",
             description = """
                     Этот метод возвращает список объектов ReviewResp, связанных с конкретной книгой.
                     
+                    Ответ содержит ETag версии отзывов книги: при совпадающем If-None-Match метод возвращает 304 без обращения к базе данных.
+                    
                     This method returns a list of ReviewResp objects associated with a particular book.
+                    
+                    The response carries an ETag of the book's review version: a matching If-None-Match is answered with 304 without touching the database.
                     """)
     @SecurityRequirement(name = "JWT")
     @GetMapping("/by_book/{id}")
     @PreAuthorize("hasRole('ROLE_USER')")
-    public ResponseEntity<?> getReviewsByBook(@PathVariable Long id) {
-        return ResponseEntity.ok(reviewService.getReviewsByBookId(id));
+    public ResponseEntity<?> getReviewsByBook(@PathVariable Long id, WebRequest request) {
+        return withETag(request, catalogVersion.reviewsTag(id), catalogVersion.privateCacheControl(),
+                () -> reviewService.getReviewsByBookId(id));
     }
 
     @Operation(summary = "Update review content",
@@ -7,22 +7,24 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.DuplicateException;
-import kg.mega.library_app.events.RegistrationCompleteEvent;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
+import kg.mega.library_app.models.constants.Role;
 import kg.mega.library_app.models.dto.requests.AuthenticationReq;
 import kg.mega.library_app.models.dto.requests.RegistrationReq;
-import kg.mega.library_app.models.dto.responses.RegistrationInterimResp;
+import kg.mega.library_app.models.dto.requests.UserFilterReq;
 import kg.mega.library_app.models.dto.responses.RegistrationResp;
 import kg.mega.library_app.models.entities.VerificationToken;
 import kg.mega.library_app.services.UserService;
 import kg.mega.library_app.services.VerificationTokenService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
 
 @RestController
 @RequestMapping("/users")
@@ -31,13 +33,11 @@ import static org.springframework.http.HttpStatus.CREATED;
 public class UserController {
     private final UserService userService;
     private final VerificationTokenService verificationTokenService;
-    private final ApplicationEventPublisher publisher;
 
     @Autowired
-    public UserController(UserService userService, VerificationTokenService verificationTokenService, ApplicationEventPublisher publisher) {
+    public UserController(UserService userService, VerificationTokenService verificationTokenService) {
         this.userService = userService;
         this.verificationTokenService = verificationTokenService;
-        this.publisher = publisher;
     }
 
     @Operation(summary = "Register a user",
@@ -46,18 +46,25 @@ public class UserController {
                     
                     Если юзер с таким адресом почты уже существует, выбрасывает DuplicateException.
                     
+                    Письмо отправляется асинхронно после сохранения пользователя, поэтому ответ не ждёт почтовый сервер.
+                    
+                    Ответ не содержит токен: аккаунт остаётся неактивным до подтверждения почты, после чего нужно пройти аутентификацию.
+                    
                     This method accepts user data, validates the data, and sends a confirmation message to the email.
                     
                     If the user with that email address already exists, it throws a DuplicateException.
+                    
+                    The email is sent asynchronously after the user is committed, so the response does not wait for the mail server.
+                    
+                    The response carries no token: the account stays inactive until the email is verified, after which the user has to authenticate.
                     """)
     @PostMapping("/registration")
     public ResponseEntity<?> registration(
             @Valid @RequestBody RegistrationReq req,
             final HttpServletRequest request
     ) throws DuplicateException {
-        RegistrationInterimResp resp = userService.register(req);
-        publisher.publishEvent(new RegistrationCompleteEvent(resp.getUser(), applicationUrl(request)));
-        return ResponseEntity.status(CREATED).body(new RegistrationResp(resp.getToken(),
+        userService.register(req, applicationUrl(request));
+        return ResponseEntity.status(CREATED).body(new RegistrationResp(
                 "Success! Please, check your email to complete your registration."));
     }
 
@@ -99,13 +106,57 @@ public class UserController {
             description = """
                     Этот метод возвращает список UserResp для просматривания информации о пользователях.
                     
+                    Список можно отфильтровать по роли role и признаку активности active.
+                    
+                    Список выдаётся страницами не более 100 элементов по курсору: ответ содержит next_cursor, который передаётся в параметре after для следующей страницы. Для первой страницы after не передаётся.
+                    
+                    Если курсор некорректен, метод выбрасывает InvalidCursorException.
+                    
                     This method returns the UserResp list for viewing user information.
+                    
+                    The list can be filtered by role and the active flag.
+                    
+                    The list is returned in cursor pages of at most 100 elements: the response contains next_cursor, which is passed as the after parameter for the next page. Omit after for the first page.
+                    
+                    If the cursor is invalid, the method throws InvalidCursorException.
                     """)
     @SecurityRequirement(name = "JWT")
     @GetMapping("/all")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<?> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") Integer size) throws InvalidCursorException {
+        return ResponseEntity.ok(userService.getUsers(UserFilterReq
+                .builder()
+                .role(role)
+                .active(active)
+                .build(), after, size));
+    }
+
+    @Operation(summary = "Export user list",
+            description = """
+                    Этот метод возвращает список UserResp для просматривания информации о пользователях.
+                    
+                    Используйте этот метод для полной выгрузки; для просмотра используйте постраничный /all.
+                    
+                    Ответ передаётся потоком: элементы сериализуются по мере чтения из базы данных, не собираясь в список в памяти.
+                    
+                    This method returns the UserResp list for viewing user information.
+                    
+                    Use this method for a full dump; use the paged /all for browsing.
+                    
+                    The response is streamed: elements are serialized as they are read from the database instead of being collected into an in-memory list.
+                    """)
+    @SecurityRequirement(name = "JWT")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity
+                .ok()
+                .contentType(APPLICATION_JSON)
+                .body(out -> userService.writeAllUsers(out));
     }
 
     @Operation(summary = "Disable user account",
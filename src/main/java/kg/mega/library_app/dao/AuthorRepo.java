@@ -1,14 +1,29 @@
 package kg.mega.library_app.dao;
 
+import jakarta.persistence.QueryHint;
+import kg.mega.library_app.models.dto.responses.AuthorSuggestionResp;
 import kg.mega.library_app.models.entities.Author;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface AuthorRepo extends JpaRepository<Author, Long> {
     List<Author> findAllByFirstnameContainingOrLastnameContaining(String firstname, String lastname);
 
     Author findByFirstnameAndLastname(String firstname, String lastname);
+
+    List<Author> findAllByLastnameIn(Collection<String> lastnames);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new kg.mega.library_app.models.dto.responses.AuthorSuggestionResp(a.id, a.firstname, a.lastname) " +
+            "FROM Author a")
+    Stream<AuthorSuggestionResp> streamAllSuggestions();
 }
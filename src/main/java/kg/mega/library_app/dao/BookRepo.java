@@ -1,28 +1,124 @@
 package kg.mega.library_app.dao;
 
+import jakarta.persistence.QueryHint;
+import kg.mega.library_app.models.dto.projections.BookExportView;
+import kg.mega.library_app.models.dto.projections.BookGenreView;
+import kg.mega.library_app.models.dto.projections.BookKeyView;
+import kg.mega.library_app.models.dto.projections.BookView;
 import kg.mega.library_app.models.entities.Book;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BookRepo extends JpaRepository<Book, Long> {
-    @Query("SELECT b FROM Book b JOIN b.genres g WHERE g.id = ?1")
-    List<Book> findAllByGenreId(Long id);
+    @Query(value = "SELECT new kg.mega.library_app.models.dto.projections.BookView" +
+            "(b.id, b.title, a.firstname, a.lastname, b.quantity) " +
+            "FROM Book b " +
+            "LEFT JOIN b.author a " +
+            "ORDER BY b.id",
+            countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookView> findAllViews(Pageable pageable);
 
-    List<Book> findAllByAuthorFirstnameAndAuthorLastname(String firstname, String lastname);
+    @Query("SELECT new kg.mega.library_app.models.dto.projections.BookView" +
+            "(b.id, b.title, a.firstname, a.lastname, b.quantity) " +
+            "FROM Book b " +
+            "LEFT JOIN b.author a " +
+            "WHERE b.id > ?1 " +
+            "ORDER BY b.id")
+    List<BookView> findAllViewsAfter(Long lastId, Pageable pageable);
 
-    @Query("SElECT b FROM Book b join b.genres g WHERE g.title = ?1")
-    List<Book> findAllByGenreTitle(String title);
+    @Query("SELECT new kg.mega.library_app.models.dto.projections.BookView" +
+            "(b.id, b.title, a.firstname, a.lastname, b.quantity) " +
+            "FROM Book b " +
+            "LEFT JOIN b.author a " +
+            "JOIN b.genres g " +
+            "WHERE g.id = ?1 " +
+            "ORDER BY b.id")
+    List<BookView> findAllViewsByGenreId(Long id);
 
-//    @Query("SELECT b FROM Book b JOIN b.author a WHERE a.id = :id")
-//    List<Book> findAllByAuthorId(@Param("id") Long id);
+    @Query("SELECT new kg.mega.library_app.models.dto.projections.BookView" +
+            "(b.id, b.title, a.firstname, a.lastname, b.quantity) " +
+            "FROM Book b " +
+            "JOIN b.author a " +
+            "WHERE a.id = ?1 " +
+            "ORDER BY b.id")
+    List<BookView> findAllViewsByAuthorId(Long id);
 
-    List<Book> findAllByAuthorId(Long id);
+    @Query("SELECT new kg.mega.library_app.models.dto.projections.BookView" +
+            "(b.id, b.title, a.firstname, a.lastname, b.quantity) " +
+            "FROM Book b " +
+            "JOIN b.author a " +
+            "WHERE a.firstname LIKE %?1% OR a.lastname LIKE %?2% " +
+            "ORDER BY b.id")
+    List<BookView> findAllViewsByAuthorNameContaining(String firstname, String lastname);
+
+    @Query("SELECT new kg.mega.library_app.models.dto.projections.BookView" +
+            "(b.id, b.title, a.firstname, a.lastname, b.quantity) " +
+            "FROM Book b " +
+            "LEFT JOIN b.author a " +
+            "WHERE b.id IN ?1")
+    List<BookView> findAllViewsByIds(Collection<Long> ids);
+
+    @Query("SELECT new kg.mega.library_app.models.dto.projections.BookGenreView(b.id, g.title) " +
+            "FROM Book b " +
+            "JOIN b.genres g " +
+            "WHERE b.id IN ?1")
+    List<BookGenreView> findGenreTitlesByBookIds(Collection<Long> bookIds);
+
+    @Query("SELECT new kg.mega.library_app.models.dto.projections.BookKeyView" +
+            "(b.id, b.title, b.description, b.publicationYear, b.quantity, a.firstname, a.lastname) " +
+            "FROM Book b " +
+            "JOIN b.author a " +
+            "WHERE b.title IN ?1")
+    List<BookKeyView> findKeyViewsByTitles(Collection<String> titles);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new kg.mega.library_app.models.dto.projections.BookExportView" +
+            "(b.id, b.title, b.description, b.publicationYear, b.quantity, a.firstname, a.lastname, " +
+            "listagg(g.title, '|') WITHIN GROUP (ORDER BY g.title)) " +
+            "FROM Book b " +
+            "LEFT JOIN b.author a " +
+            "LEFT JOIN b.genres g " +
+            "GROUP BY b.id, b.title, b.description, b.publicationYear, b.quantity, a.firstname, a.lastname " +
+            "ORDER BY b.id")
+    Stream<BookExportView> streamAllForExport();
+
+    @Query("SELECT new kg.mega.library_app.models.dto.projections.BookExportView" +
+            "(b.id, b.title, b.description, b.publicationYear, b.quantity, a.firstname, a.lastname, " +
+            "listagg(g.title, '|') WITHIN GROUP (ORDER BY g.title)) " +
+            "FROM Book b " +
+            "LEFT JOIN b.author a " +
+            "LEFT JOIN b.genres g " +
+            "WHERE b.id IN ?1 " +
+            "GROUP BY b.id, b.title, b.description, b.publicationYear, b.quantity, a.firstname, a.lastname")
+    List<BookExportView> findExportViewsByIds(Collection<Long> ids);
+
+    @Query("SELECT b.id FROM Book b WHERE b.author.id = ?1")
+    List<Long> findIdsByAuthorId(Long authorId);
+
+    List<Book> findAllByAuthorFirstnameAndAuthorLastname(String firstname, String lastname);
+
+    @Query("SELECT new kg.mega.library_app.models.dto.projections.BookView" +
+            "(b.id, b.title, a.firstname, a.lastname, b.quantity) " +
+            "FROM Book b " +
+            "LEFT JOIN b.author a " +
+            "WHERE EXISTS (SELECT 1 FROM b.genres g WHERE g.title LIKE ?1 ESCAPE '!') " +
+            "ORDER BY b.id")
+    List<BookView> findAllViewsByGenreTitleLike(String pattern, Pageable pageable);
 
     @Query("SELECT COUNT(b) > 0 " +
             "FROM Book b " +
@@ -50,4 +146,14 @@ public interface BookRepo extends JpaRepository<Book, Long> {
             (
                     String title, String description, String publicationYear, Integer quantity
             );
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Book b SET b.quantity = b.quantity - 1 WHERE b.id = ?1 AND b.quantity > 0")
+    int decrementQuantity(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Book b SET b.quantity = b.quantity + 1 WHERE b.id = ?1")
+    int incrementQuantity(Long id);
 }
\ No newline at end of file
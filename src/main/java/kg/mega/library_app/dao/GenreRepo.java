@@ -4,6 +4,7 @@ import kg.mega.library_app.models.entities.Genre;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +12,6 @@ public interface GenreRepo extends JpaRepository<Genre, Long> {
     Genre findByTitle(String title);
 
     List<Genre> findAllByTitleContaining(String title);
+
+    List<Genre> findAllByTitleIn(Collection<String> titles);
 }
@@ -0,0 +1,35 @@
+package kg.mega.library_app.dao;
+
+import kg.mega.library_app.models.constants.MailStatus;
+import kg.mega.library_app.models.entities.MailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepo extends JpaRepository<MailOutbox, Long> {
+    @Query("SELECT m.id FROM MailOutbox m WHERE m.status = ?1 AND m.nextAttemptAt <= ?2 ORDER BY m.id")
+    List<Long> findDueIds(MailStatus status, LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT m FROM MailOutbox m WHERE m.claimToken = ?1 ORDER BY m.id")
+    List<MailOutbox> findClaimed(String claimToken);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = ?3, m.claimedAt = ?4, m.claimToken = ?5 " +
+            "WHERE m.id IN ?1 AND m.status = ?2")
+    int claim(Collection<Long> ids, MailStatus from, MailStatus to, LocalDateTime claimedAt, String claimToken);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = ?2, m.claimedAt = NULL " +
+            "WHERE m.status = ?1 AND (m.claimedAt IS NULL OR m.claimedAt < ?3)")
+    int releaseClaimedBefore(MailStatus from, MailStatus to, LocalDateTime claimedBefore);
+}
@@ -1,16 +1,28 @@
 package kg.mega.library_app.dao;
 
+import jakarta.persistence.QueryHint;
+import kg.mega.library_app.models.dto.responses.OrderHistoryResp;
 import kg.mega.library_app.models.entities.OrderHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface OrderHistoryRepo extends JpaRepository<OrderHistory, Long> {
+public interface OrderHistoryRepo extends JpaRepository<OrderHistory, Long>, OrderHistoryRepoCustom {
     @Query("SELECT oh FROM OrderHistory oh WHERE oh.order.id = ?1")
     List<OrderHistory> findAllByOrderId(Long orderId);
     @Query("SELECT oh FROM  OrderHistory oh WHERE oh.order.user.id = ?1")
     List<OrderHistory> findAllByUserId(Long userId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new kg.mega.library_app.models.dto.responses.OrderHistoryResp(oh.order.id, oh.status, oh.actionDate) " +
+            "FROM OrderHistory oh " +
+            "ORDER BY oh.id")
+    Stream<OrderHistoryResp> streamAllResps();
 }
@@ -0,0 +1,10 @@
+package kg.mega.library_app.dao;
+
+import kg.mega.library_app.models.dto.projections.OrderHistoryView;
+import kg.mega.library_app.models.dto.requests.OrderHistoryFilterReq;
+
+import java.util.List;
+
+public interface OrderHistoryRepoCustom {
+    List<OrderHistoryView> findViewsAfter(Long lastId, OrderHistoryFilterReq filter, int limit);
+}
@@ -0,0 +1,54 @@
+package kg.mega.library_app.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import kg.mega.library_app.models.dto.projections.OrderHistoryView;
+import kg.mega.library_app.models.dto.requests.OrderHistoryFilterReq;
+import kg.mega.library_app.models.entities.OrderHistory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderHistoryRepoCustomImpl implements OrderHistoryRepoCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderHistoryView> findViewsAfter(Long lastId, OrderHistoryFilterReq filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderHistoryView> query = cb.createQuery(OrderHistoryView.class);
+        Root<OrderHistory> history = query.from(OrderHistory.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(history.<Long>get("id"), lastId));
+        if (filter.getOrderId() != null) {
+            predicates.add(cb.equal(history.get("order").get("id"), filter.getOrderId()));
+        }
+        if (filter.getUserId() != null) {
+            predicates.add(cb.equal(history.join("order").get("user").get("id"), filter.getUserId()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(history.get("status"), filter.getStatus()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(history.<LocalDateTime>get("actionDate"), filter.getFrom().atStartOfDay()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(history.<LocalDateTime>get("actionDate"), filter.getTo().plusDays(1).atStartOfDay()));
+        }
+
+        query.select(cb.construct(OrderHistoryView.class,
+                        history.get("id"),
+                        history.get("order").get("id"),
+                        history.get("status"),
+                        history.get("actionDate")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(history.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
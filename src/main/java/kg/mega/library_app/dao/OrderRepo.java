@@ -1,11 +1,52 @@
 package kg.mega.library_app.dao;
 
+import jakarta.persistence.QueryHint;
+import kg.mega.library_app.models.dto.projections.OverdueOrderView;
+import kg.mega.library_app.models.dto.responses.OrderResp;
 import kg.mega.library_app.models.entities.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface OrderRepo extends JpaRepository<Order, Long> {
+public interface OrderRepo extends JpaRepository<Order, Long>, OrderRepoCustom {
+    @Transactional
+    @Modifying
+    @Query("UPDATE Order o SET o.actualReturnDate = ?2 WHERE o.id = ?1 AND o.actualReturnDate IS NULL")
+    int markReturned(Long id, LocalDate actualReturnDate);
+
+    @Query("SELECT new kg.mega.library_app.models.dto.projections.OverdueOrderView(o.id, u.email, b.title) " +
+            "FROM Order o " +
+            "JOIN o.user u " +
+            "JOIN o.book b " +
+            "WHERE o.actualReturnDate IS NULL " +
+            "AND o.returnDueDate <= ?1 " +
+            "AND o.lastRemindedDate IS NULL " +
+            "AND o.id > ?2 " +
+            "ORDER BY o.id")
+    List<OverdueOrderView> findOrdersToRemind(LocalDate dueBefore, Long lastId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Order o SET o.lastRemindedDate = ?2 WHERE o.id IN ?1")
+    int markReminded(Collection<Long> ids, LocalDate remindedDate);
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new kg.mega.library_app.models.dto.responses.OrderResp(u.email, b.title, o.orderDate) " +
+            "FROM Order o " +
+            "LEFT JOIN o.user u " +
+            "LEFT JOIN o.book b " +
+            "ORDER BY o.id")
+    Stream<OrderResp> streamAllResps();
 }
@@ -0,0 +1,10 @@
+package kg.mega.library_app.dao;
+
+import kg.mega.library_app.models.dto.projections.OrderView;
+import kg.mega.library_app.models.dto.requests.OrderFilterReq;
+
+import java.util.List;
+
+public interface OrderRepoCustom {
+    List<OrderView> findViewsAfter(Long lastId, OrderFilterReq filter, int limit);
+}
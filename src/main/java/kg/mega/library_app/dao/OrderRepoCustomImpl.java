@@ -0,0 +1,56 @@
+package kg.mega.library_app.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import kg.mega.library_app.models.dto.projections.OrderView;
+import kg.mega.library_app.models.dto.requests.OrderFilterReq;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.models.entities.Order;
+import kg.mega.library_app.models.entities.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderRepoCustomImpl implements OrderRepoCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderView> findViewsAfter(Long lastId, OrderFilterReq filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderView> query = cb.createQuery(OrderView.class);
+        Root<Order> order = query.from(Order.class);
+        Join<Order, User> user = order.join("user", JoinType.LEFT);
+        Join<Order, Book> book = order.join("book", JoinType.LEFT);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(order.<Long>get("id"), lastId));
+        if (filter.getUserId() != null) {
+            predicates.add(cb.equal(order.get("user").get("id"), filter.getUserId()));
+        }
+        if (filter.getBookId() != null) {
+            predicates.add(cb.equal(order.get("book").get("id"), filter.getBookId()));
+        }
+        if (filter.getReturned() != null) {
+            Path<LocalDate> actualReturnDate = order.get("actualReturnDate");
+            predicates.add(filter.getReturned() ? cb.isNotNull(actualReturnDate) : cb.isNull(actualReturnDate));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.<LocalDate>get("orderDate"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(order.<LocalDate>get("orderDate"), filter.getTo()));
+        }
+
+        query.select(cb.construct(OrderView.class,
+                        order.get("id"),
+                        user.get("email"),
+                        book.get("title"),
+                        order.get("orderDate")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(order.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
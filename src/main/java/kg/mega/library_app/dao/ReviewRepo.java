@@ -1,12 +1,26 @@
 package kg.mega.library_app.dao;
 
+import jakarta.persistence.QueryHint;
+import kg.mega.library_app.models.dto.responses.ReviewResp;
 import kg.mega.library_app.models.entities.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface ReviewRepo extends JpaRepository<Review, Long> {
+public interface ReviewRepo extends JpaRepository<Review, Long>, ReviewRepoCustom {
     List<Review> findAllByBook_Id(Long id);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new kg.mega.library_app.models.dto.responses.ReviewResp(r.comment, u.firstname, u.lastname) " +
+            "FROM Review r " +
+            "LEFT JOIN r.user u " +
+            "ORDER BY r.id")
+    Stream<ReviewResp> streamAllResps();
 }
@@ -0,0 +1,10 @@
+package kg.mega.library_app.dao;
+
+import kg.mega.library_app.models.dto.projections.ReviewView;
+import kg.mega.library_app.models.dto.requests.ReviewFilterReq;
+
+import java.util.List;
+
+public interface ReviewRepoCustom {
+    List<ReviewView> findViewsAfter(Long lastId, ReviewFilterReq filter, int limit);
+}
@@ -0,0 +1,43 @@
+package kg.mega.library_app.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import kg.mega.library_app.models.dto.projections.ReviewView;
+import kg.mega.library_app.models.dto.requests.ReviewFilterReq;
+import kg.mega.library_app.models.entities.Review;
+import kg.mega.library_app.models.entities.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReviewRepoCustomImpl implements ReviewRepoCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReviewView> findViewsAfter(Long lastId, ReviewFilterReq filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReviewView> query = cb.createQuery(ReviewView.class);
+        Root<Review> review = query.from(Review.class);
+        Join<Review, User> user = review.join("user", JoinType.LEFT);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(review.<Long>get("id"), lastId));
+        if (filter.getBookId() != null) {
+            predicates.add(cb.equal(review.get("book").get("id"), filter.getBookId()));
+        }
+        if (filter.getUserId() != null) {
+            predicates.add(cb.equal(review.get("user").get("id"), filter.getUserId()));
+        }
+
+        query.select(cb.construct(ReviewView.class,
+                        review.get("id"),
+                        review.get("comment"),
+                        user.get("firstname"),
+                        user.get("lastname")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(review.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
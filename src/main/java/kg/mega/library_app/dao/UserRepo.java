@@ -1,12 +1,32 @@
 package kg.mega.library_app.dao;
 
+import jakarta.persistence.QueryHint;
+import kg.mega.library_app.models.dto.responses.UserResp;
 import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface UserRepo extends JpaRepository<User, Long> {
+public interface UserRepo extends JpaRepository<User, Long>, UserRepoCustom {
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT new kg.mega.library_app.security.AuthenticatedUser(" +
+            "u.id, u.email, u.firstname, u.lastname, u.password, u.role, u.isActive) " +
+            "FROM User u WHERE u.email = ?1")
+    Optional<AuthenticatedUser> findPrincipalByEmail(String email);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new kg.mega.library_app.models.dto.responses.UserResp" +
+            "(u.firstname, u.lastname, u.phoneNumber, u.isActive, u.email, u.role) " +
+            "FROM User u " +
+            "ORDER BY u.id")
+    Stream<UserResp> streamAllResps();
 }
@@ -0,0 +1,10 @@
+package kg.mega.library_app.dao;
+
+import kg.mega.library_app.models.dto.projections.UserView;
+import kg.mega.library_app.models.dto.requests.UserFilterReq;
+
+import java.util.List;
+
+public interface UserRepoCustom {
+    List<UserView> findViewsAfter(Long lastId, UserFilterReq filter, int limit);
+}
@@ -0,0 +1,47 @@
+package kg.mega.library_app.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import kg.mega.library_app.models.dto.projections.UserView;
+import kg.mega.library_app.models.dto.requests.UserFilterReq;
+import kg.mega.library_app.models.entities.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserRepoCustomImpl implements UserRepoCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserView> findViewsAfter(Long lastId, UserFilterReq filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserView> query = cb.createQuery(UserView.class);
+        Root<User> user = query.from(User.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(user.<Long>get("id"), lastId));
+        if (filter.getRole() != null) {
+            predicates.add(cb.equal(user.get("role"), filter.getRole()));
+        }
+        if (filter.getActive() != null) {
+            predicates.add(cb.equal(user.get("isActive"), filter.getActive()));
+        }
+
+        query.select(cb.construct(UserView.class,
+                        user.get("id"),
+                        user.get("firstname"),
+                        user.get("lastname"),
+                        user.get("phoneNumber"),
+                        user.get("isActive"),
+                        user.get("email"),
+                        user.get("role")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(user.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
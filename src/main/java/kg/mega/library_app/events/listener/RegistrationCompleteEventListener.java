@@ -4,41 +4,40 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import kg.mega.library_app.events.RegistrationCompleteEvent;
 import kg.mega.library_app.models.entities.User;
-import kg.mega.library_app.services.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationListener;
+import org.springframework.mail.MailException;
 import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.io.UnsupportedEncodingException;
-import java.util.UUID;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class RegistrationCompleteEventListener implements ApplicationListener<RegistrationCompleteEvent> {
-    private final UserService userService;
-
+public class RegistrationCompleteEventListener {
     private final JavaMailSender mailSender;
-    private User user;
 
-    @Override
-    public void onApplicationEvent(RegistrationCompleteEvent event) {
-        user = event.getUser();
-        String verificationToken = UUID.randomUUID().toString();
-        userService.saveUserVerificationToken(user, verificationToken);
-        String url = event.getApplicationUrl() + "/users/verify_email?token=" + verificationToken;
+    /**
+     * Sends the verification email on the registration mail executor once the registration has committed,
+     * so the sign-up response does not wait for SMTP and a rolled back registration sends nothing.
+     */
+    @Async("registrationMailExecutor")
+    @TransactionalEventListener
+    public void onRegistrationComplete(RegistrationCompleteEvent event) {
+        String url = event.getApplicationUrl() + "/users/verify_email?token=" + event.getVerificationToken();
         try {
-            sendVerificationEmail(url);
-        } catch (MessagingException | UnsupportedEncodingException e) {
-            throw new MailSendException(e.getMessage());
+            sendVerificationEmail(event.getUser(), url);
+        } catch (MailException e) {
+            log.error("Verification email to '{}' failed: {}", event.getUser().getEmail(), e.getMessage());
         }
     }
 
-    public void sendVerificationEmail(String url) throws MessagingException, UnsupportedEncodingException {
+    public void sendVerificationEmail(User user, String url) {
         try {
             String subject = "Email Verification";
             String senderName = "User Registration Service";
@@ -58,4 +57,4 @@ public class RegistrationCompleteEventListener implements ApplicationListener<Re
             throw new MailSendException(e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,6 @@
+package kg.mega.library_app.models.constants;
+
+public enum GenreMatch {
+    CONTAINS,
+    PREFIX
+}
@@ -0,0 +1,8 @@
+package kg.mega.library_app.models.constants;
+
+public enum MailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,23 @@
+package kg.mega.library_app.models.dto.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class BookExportView {
+    Long id;
+    String title;
+    String description;
+    String publicationYear;
+    Integer quantity;
+    String authorFirstname;
+    String authorLastname;
+    String genreTitles;
+}
@@ -0,0 +1,22 @@
+package kg.mega.library_app.models.dto.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class BookKeyView {
+    Long id;
+    String title;
+    String description;
+    String publicationYear;
+    Integer quantity;
+    String authorFirstname;
+    String authorLastname;
+}
@@ -0,0 +1,20 @@
+package kg.mega.library_app.models.dto.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class BookView {
+    Long id;
+    String title;
+    String authorFirstname;
+    String authorLastname;
+    Integer quantity;
+}
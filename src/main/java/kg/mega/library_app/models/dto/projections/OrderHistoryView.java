@@ -0,0 +1,22 @@
+package kg.mega.library_app.models.dto.projections;
+
+import kg.mega.library_app.models.constants.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class OrderHistoryView {
+    Long id;
+    Long orderId;
+    OrderStatus status;
+    LocalDateTime actionDate;
+}
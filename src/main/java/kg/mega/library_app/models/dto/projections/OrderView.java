@@ -0,0 +1,21 @@
+package kg.mega.library_app.models.dto.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class OrderView {
+    Long id;
+    String userEmail;
+    String bookTitle;
+    LocalDate orderDate;
+}
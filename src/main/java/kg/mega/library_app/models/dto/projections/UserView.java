@@ -0,0 +1,23 @@
+package kg.mega.library_app.models.dto.projections;
+
+import kg.mega.library_app.models.constants.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = PRIVATE)
+public class UserView {
+    Long id;
+    String firstname;
+    String lastname;
+    String phoneNumber;
+    boolean isActive;
+    String email;
+    Role role;
+}
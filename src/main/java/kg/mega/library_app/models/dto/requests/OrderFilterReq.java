@@ -0,0 +1,24 @@
+package kg.mega.library_app.models.dto.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = PRIVATE)
+public class OrderFilterReq {
+    Long userId;
+    Long bookId;
+    Boolean returned;
+    LocalDate from;
+    LocalDate to;
+}
@@ -0,0 +1,25 @@
+package kg.mega.library_app.models.dto.requests;
+
+import kg.mega.library_app.models.constants.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = PRIVATE)
+public class OrderHistoryFilterReq {
+    Long orderId;
+    Long userId;
+    OrderStatus status;
+    LocalDate from;
+    LocalDate to;
+}
@@ -0,0 +1,20 @@
+package kg.mega.library_app.models.dto.requests;
+
+import kg.mega.library_app.models.constants.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = PRIVATE)
+public class UserFilterReq {
+    Role role;
+    Boolean active;
+}
@@ -0,0 +1,23 @@
+package kg.mega.library_app.models.dto.responses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = PRIVATE)
+public class AuthorSuggestionResp {
+    Long id;
+    @JsonProperty("author_firstname")
+    String authorFirstname;
+    @JsonProperty("author_lastname")
+    String authorLastname;
+}
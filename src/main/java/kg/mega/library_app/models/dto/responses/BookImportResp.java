@@ -0,0 +1,24 @@
+package kg.mega.library_app.models.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = PRIVATE)
+public class BookImportResp {
+    Integer received;
+    Integer imported;
+    Integer duplicates;
+    Integer rejected;
+    List<String> errors;
+}
@@ -0,0 +1,24 @@
+package kg.mega.library_app.models.dto.responses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = PRIVATE)
+public class CursorPageResp<T> {
+    List<T> content;
+    Integer size;
+    @JsonProperty("next_cursor")
+    String nextCursor;
+}
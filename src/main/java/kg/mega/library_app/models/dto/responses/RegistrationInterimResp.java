@@ -15,6 +15,5 @@ import static lombok.AccessLevel.PRIVATE;
 @Builder
 @FieldDefaults(level = PRIVATE)
 public class RegistrationInterimResp {
-    String token;
     User user;
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package kg.mega.library_app.models.dto.responses;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,7 +14,5 @@ import static lombok.AccessLevel.PRIVATE;
 @Builder
 @FieldDefaults(level = PRIVATE)
 public class RegistrationResp {
-    @JsonProperty("access_token")
-    String accessToken;
     String result;
 }
@@ -1,10 +1,16 @@
 package kg.mega.library_app.models.entities;
 
 import jakarta.persistence.*;
+import kg.mega.library_app.models.entities.listeners.AuthorBookIndexListener;
+import kg.mega.library_app.models.entities.listeners.AuthorCacheListener;
+import kg.mega.library_app.models.entities.listeners.AuthorIndexListener;
+import kg.mega.library_app.models.entities.listeners.CatalogVersionListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.FieldDefaults;
 
 import java.io.Serializable;
@@ -12,7 +18,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static jakarta.persistence.CascadeType.ALL;
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static lombok.AccessLevel.PRIVATE;
 
 @Data
@@ -22,10 +28,14 @@ import static lombok.AccessLevel.PRIVATE;
 @FieldDefaults(level = PRIVATE)
 
 @Entity
-@Table(name = "authors")
+@Table(name = "authors", indexes = {
+        @Index(name = "idx_authors_name", columnList = "firstname, lastname")
+})
+@EntityListeners({AuthorIndexListener.class, AuthorBookIndexListener.class, AuthorCacheListener.class, CatalogVersionListener.class})
 public class Author implements Serializable {
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "authors_seq")
+    @SequenceGenerator(name = "authors_seq", sequenceName = "authors_seq", allocationSize = 50)
     Long id;
     @Column(length = 50)
     String firstname;
@@ -35,6 +45,8 @@ public class Author implements Serializable {
     LocalDate dateOfBirth;
     @Column(length = 50)
     String birthplace;
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "author", cascade = ALL, orphanRemoval = true)
     List<Book> books;
 
@@ -1,6 +1,8 @@
 package kg.mega.library_app.models.entities;
 
 import jakarta.persistence.*;
+import kg.mega.library_app.models.entities.listeners.BookIndexListener;
+import kg.mega.library_app.models.entities.listeners.CatalogVersionListener;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
@@ -11,9 +13,8 @@ import java.util.Objects;
 import java.util.Set;
 
 import static jakarta.persistence.CascadeType.*;
-import static jakarta.persistence.FetchType.EAGER;
 import static jakarta.persistence.FetchType.LAZY;
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static lombok.AccessLevel.PRIVATE;
 
 @Data
@@ -24,9 +25,11 @@ import static lombok.AccessLevel.PRIVATE;
 
 @Entity
 @Table(name = "books")
+@EntityListeners({BookIndexListener.class, CatalogVersionListener.class})
 public class Book implements Serializable {
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "books_seq")
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
     Long id;
     @Column(length = 100)
     String title;
@@ -55,7 +58,7 @@ public class Book implements Serializable {
     Set<Genre> genres = new HashSet<>();
     @OneToMany(mappedBy = "book", cascade = ALL, orphanRemoval = true)
     List<Review> reviews;
-    @ManyToMany(fetch = EAGER, mappedBy = "favorites")
+    @ManyToMany(fetch = LAZY, mappedBy = "favorites")
     List<User> userFavorites;
 
     @Override
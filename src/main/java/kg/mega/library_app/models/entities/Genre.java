@@ -1,10 +1,13 @@
 package kg.mega.library_app.models.entities;
 
 import jakarta.persistence.*;
+import kg.mega.library_app.models.entities.listeners.CatalogVersionListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.FieldDefaults;
 
 import java.io.Serializable;
@@ -12,7 +15,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import static jakarta.persistence.CascadeType.ALL;
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static lombok.AccessLevel.PRIVATE;
 
 @Data
@@ -22,15 +25,21 @@ import static lombok.AccessLevel.PRIVATE;
 @FieldDefaults(level = PRIVATE)
 
 @Entity
-@Table(name = "genres")
+@Table(name = "genres", indexes = {
+        @Index(name = "idx_genres_title", columnList = "title")
+})
+@EntityListeners(CatalogVersionListener.class)
 public class Genre implements Serializable {
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "genres_seq")
+    @SequenceGenerator(name = "genres_seq", sequenceName = "genres_seq", allocationSize = 50)
     Long id;
     @Column(length = 50)
     String title;
     @Column(length = 500)
     String description;
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToMany(mappedBy = "genres", fetch = FetchType.LAZY, cascade = ALL)
     Set<Book> books = new HashSet<>();
 
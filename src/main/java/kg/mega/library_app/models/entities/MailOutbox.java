@@ -0,0 +1,59 @@
+package kg.mega.library_app.models.entities;
+
+import jakarta.persistence.*;
+import kg.mega.library_app.models.constants.MailStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.EnumType.STRING;
+import static jakarta.persistence.GenerationType.IDENTITY;
+import static lombok.AccessLevel.PRIVATE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = PRIVATE)
+
+@Entity
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_mail_outbox_claim_token", columnList = "claim_token")
+})
+public class MailOutbox implements Serializable {
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    Long id;
+    @Column(nullable = false)
+    String recipient;
+    String subject;
+    @Column(length = 5000)
+    String body;
+    @Enumerated(STRING)
+    @Column(length = 20, nullable = false)
+    MailStatus status;
+    int attempts;
+    @Column(name = "next_attempt_at")
+    LocalDateTime nextAttemptAt;
+    @Column(name = "created_at")
+    LocalDateTime createdAt;
+    @Column(name = "claimed_at")
+    LocalDateTime claimedAt;
+    @Column(name = "claim_token", length = 36)
+    String claimToken;
+    @Column(name = "sent_at")
+    LocalDateTime sentAt;
+    @Column(name = "last_error", length = 1000)
+    String lastError;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
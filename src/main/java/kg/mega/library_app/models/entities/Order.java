@@ -20,7 +20,12 @@ import static lombok.AccessLevel.PRIVATE;
 @FieldDefaults(level = PRIVATE)
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_open_due", columnList = "actual_return_date, return_due_date"),
+        @Index(name = "idx_orders_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_orders_book_id", columnList = "book_id, id"),
+        @Index(name = "idx_orders_order_date", columnList = "order_date")
+})
 public class Order implements Serializable {
     @Id
     @GeneratedValue(strategy = IDENTITY)
@@ -37,4 +42,6 @@ public class Order implements Serializable {
     LocalDate returnDueDate;
     @Column(name = "actual_return_date")
     LocalDate actualReturnDate;
+    @Column(name = "last_reminded_date")
+    LocalDate lastRemindedDate;
 }
\ No newline at end of file
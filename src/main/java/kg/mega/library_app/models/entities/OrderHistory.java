@@ -22,7 +22,11 @@ import static lombok.AccessLevel.PRIVATE;
 @FieldDefaults(level = PRIVATE)
 
 @Entity
-@Table(name = "order_history")
+@Table(name = "order_history", indexes = {
+        @Index(name = "idx_order_history_order_id", columnList = "order_id, id"),
+        @Index(name = "idx_order_history_status", columnList = "status, id"),
+        @Index(name = "idx_order_history_action_date", columnList = "action_date")
+})
 public class OrderHistory implements Serializable {
     @Id
     @GeneratedValue(strategy = IDENTITY)
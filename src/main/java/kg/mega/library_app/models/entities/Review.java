@@ -1,6 +1,7 @@
 package kg.mega.library_app.models.entities;
 
 import jakarta.persistence.*;
+import kg.mega.library_app.models.entities.listeners.CatalogVersionListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,7 +20,11 @@ import static lombok.AccessLevel.PRIVATE;
 @FieldDefaults(level = PRIVATE)
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_book_id", columnList = "book_id, id"),
+        @Index(name = "idx_reviews_user_id", columnList = "user_id, id")
+})
+@EntityListeners(CatalogVersionListener.class)
 public class Review implements Serializable {
     @Id
     @GeneratedValue(strategy = IDENTITY)
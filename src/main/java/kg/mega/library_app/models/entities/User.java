@@ -2,6 +2,7 @@ package kg.mega.library_app.models.entities;
 
 import jakarta.persistence.*;
 import kg.mega.library_app.models.constants.Role;
+import kg.mega.library_app.models.entities.listeners.CatalogVersionListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -30,6 +31,7 @@ import static lombok.AccessLevel.PRIVATE;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(CatalogVersionListener.class)
 public class User implements UserDetails, Serializable {
     @Id
     @GeneratedValue(strategy = IDENTITY)
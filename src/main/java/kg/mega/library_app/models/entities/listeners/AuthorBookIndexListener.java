@@ -0,0 +1,22 @@
+package kg.mega.library_app.models.entities.listeners;
+
+import jakarta.persistence.PostUpdate;
+import kg.mega.library_app.models.entities.Author;
+import kg.mega.library_app.services.BookSearchService;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Reindexes the books of a renamed author, whose name is part of every one of their search documents.
+ */
+public class AuthorBookIndexListener {
+    private final ObjectProvider<BookSearchService> bookSearchService;
+
+    public AuthorBookIndexListener(ObjectProvider<BookSearchService> bookSearchService) {
+        this.bookSearchService = bookSearchService;
+    }
+
+    @PostUpdate
+    public void onUpdate(Author author) {
+        bookSearchService.ifAvailable(service -> service.indexAuthorBooks(author.getId()));
+    }
+}
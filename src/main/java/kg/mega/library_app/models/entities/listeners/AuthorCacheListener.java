@@ -0,0 +1,25 @@
+package kg.mega.library_app.models.entities.listeners;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import kg.mega.library_app.models.entities.Author;
+import kg.mega.library_app.services.AuthorService;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Keeps the author name cache in step with every change to an author, including the removal
+ * cascaded from deleting its book, which never goes through AuthorService.
+ */
+public class AuthorCacheListener {
+    private final ObjectProvider<AuthorService> authorService;
+
+    public AuthorCacheListener(ObjectProvider<AuthorService> authorService) {
+        this.authorService = authorService;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Author author) {
+        authorService.ifAvailable(service -> service.evictCachedAuthor(author.getId()));
+    }
+}
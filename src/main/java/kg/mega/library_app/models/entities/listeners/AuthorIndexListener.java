@@ -0,0 +1,28 @@
+package kg.mega.library_app.models.entities.listeners;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import kg.mega.library_app.models.entities.Author;
+import kg.mega.library_app.services.AuthorSuggestService;
+import org.springframework.beans.factory.ObjectProvider;
+
+public class AuthorIndexListener {
+    private final ObjectProvider<AuthorSuggestService> authorSuggestService;
+
+    public AuthorIndexListener(ObjectProvider<AuthorSuggestService> authorSuggestService) {
+        this.authorSuggestService = authorSuggestService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Author author) {
+        authorSuggestService.ifAvailable(service ->
+                service.putAuthor(author.getId(), author.getFirstname(), author.getLastname()));
+    }
+
+    @PostRemove
+    public void onRemove(Author author) {
+        authorSuggestService.ifAvailable(service -> service.removeAuthor(author.getId()));
+    }
+}
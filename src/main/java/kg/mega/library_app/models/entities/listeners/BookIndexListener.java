@@ -0,0 +1,27 @@
+package kg.mega.library_app.models.entities.listeners;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.services.BookSearchService;
+import org.springframework.beans.factory.ObjectProvider;
+
+public class BookIndexListener {
+    private final ObjectProvider<BookSearchService> bookSearchService;
+
+    public BookIndexListener(ObjectProvider<BookSearchService> bookSearchService) {
+        this.bookSearchService = bookSearchService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Book book) {
+        bookSearchService.ifAvailable(service -> service.indexBook(book.getId()));
+    }
+
+    @PostRemove
+    public void onRemove(Book book) {
+        bookSearchService.ifAvailable(service -> service.removeBook(book.getId()));
+    }
+}
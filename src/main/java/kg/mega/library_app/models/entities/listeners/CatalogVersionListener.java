@@ -0,0 +1,32 @@
+package kg.mega.library_app.models.entities.listeners;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import kg.mega.library_app.common.CatalogVersion;
+import kg.mega.library_app.models.entities.Review;
+import kg.mega.library_app.models.entities.User;
+import org.springframework.beans.factory.ObjectProvider;
+
+public class CatalogVersionListener {
+    private final ObjectProvider<CatalogVersion> catalogVersion;
+
+    public CatalogVersionListener(ObjectProvider<CatalogVersion> catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        catalogVersion.ifAvailable(version -> {
+            if (entity instanceof Review review) {
+                version.reviewsChanged(review.getBook() == null ? null : review.getBook().getId());
+            } else if (entity instanceof User) {
+                version.reviewersChanged();
+            } else {
+                version.booksChanged();
+            }
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package kg.mega.library_app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class VerifiedTokenCache {
+    private final Cache<String, CachedPrincipal> cache;
+    private final long maxTtlNanos;
+
+    @Autowired
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${library.security.token-cache.max-size:10000}") long maxSize,
+                              @Value("${library.security.token-cache.max-ttl-seconds:600}") long maxTtlSeconds) {
+        this.maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(@NonNull String key, @NonNull CachedPrincipal value, long currentTime) {
+                        return value.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(@NonNull String key, @NonNull CachedPrincipal value, long currentTime, long currentDuration) {
+                        return value.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(@NonNull String key, @NonNull CachedPrincipal value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedTokens");
+    }
+
+    public UserDetails get(String token) {
+        CachedPrincipal cached = cache.getIfPresent(hash(token));
+        return cached == null ? null : cached.principal;
+    }
+
+    public void put(String token, Claims claims, UserDetails principal) {
+        long ttlNanos = maxTtlNanos;
+        if (claims.getExpiration() != null) {
+            long untilExpiration = claims.getExpiration().getTime() - System.currentTimeMillis();
+            ttlNanos = Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(untilExpiration));
+        }
+        if (ttlNanos > 0) {
+            cache.put(hash(token), new CachedPrincipal(principal, ttlNanos));
+        }
+    }
+
+    public void evictUser(String username) {
+        cache.asMap().values().removeIf(cached -> cached.principal.getUsername().equals(username));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class CachedPrincipal {
+        private final UserDetails principal;
+        private final long ttlNanos;
+
+        private CachedPrincipal(UserDetails principal, long ttlNanos) {
+            this.principal = principal;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+}
@@ -17,4 +17,6 @@ public interface AuthorService {
     Author getByFirstNameAndLastName(String authorFirstname, String authorLastname);
 
     String deleteAuthor(Long id) throws DataNotFoundException;
+
+    void evictCachedAuthor(Long id);
 }
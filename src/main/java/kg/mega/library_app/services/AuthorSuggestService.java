@@ -0,0 +1,15 @@
+package kg.mega.library_app.services;
+
+import kg.mega.library_app.models.dto.responses.AuthorSuggestionResp;
+
+import java.util.List;
+
+public interface AuthorSuggestService {
+    List<AuthorSuggestionResp> suggest(String prefix, Integer limit);
+
+    void putAuthor(Long id, String firstname, String lastname);
+
+    void removeAuthor(Long id);
+
+    void reload();
+}
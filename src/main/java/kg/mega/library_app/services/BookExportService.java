@@ -0,0 +1,10 @@
+package kg.mega.library_app.services;
+
+import kg.mega.library_app.models.constants.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    void exportBooks(ExportFormat format, OutputStream out) throws IOException;
+}
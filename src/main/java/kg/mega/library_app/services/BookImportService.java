@@ -0,0 +1,12 @@
+package kg.mega.library_app.services;
+
+import kg.mega.library_app.models.dto.responses.BookImportResp;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BookImportService {
+    BookImportResp importJson(InputStream body) throws IOException;
+
+    BookImportResp importCsv(InputStream body) throws IOException;
+}
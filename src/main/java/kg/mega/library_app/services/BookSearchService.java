@@ -0,0 +1,18 @@
+package kg.mega.library_app.services;
+
+import kg.mega.library_app.models.dto.responses.BookResp;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface BookSearchService {
+    List<BookResp> search(String query, Integer page, Integer size) throws IOException;
+
+    void indexBook(Long bookId);
+
+    void removeBook(Long bookId);
+
+    void indexAuthorBooks(Long authorId);
+
+    void reindexAll() throws IOException;
+}
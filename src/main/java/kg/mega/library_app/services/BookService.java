@@ -3,10 +3,13 @@ package kg.mega.library_app.services;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.DuplicateException;
 import kg.mega.library_app.common.exceptions.InadmissibleEditingException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
+import kg.mega.library_app.models.constants.GenreMatch;
 import kg.mega.library_app.models.dto.requests.AuthorFullNameReq;
 import kg.mega.library_app.models.dto.requests.BookDetailsReq;
 import kg.mega.library_app.models.dto.requests.BookReq;
 import kg.mega.library_app.models.dto.responses.BookResp;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
 import kg.mega.library_app.models.entities.Book;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -25,15 +28,23 @@ public interface BookService {
 
     List<BookResp> getAllBooks(Integer page, Integer size);
 
+    CursorPageResp<BookResp> getAllBooksAfter(String after, Integer size) throws InvalidCursorException;
+
     List<BookResp> getBookRespByGenre(Long id) throws DataNotFoundException;
 
     List<BookResp> getBooksByAuthor(AuthorFullNameReq req) throws DataNotFoundException;
 
     Book getById(Long bookId) throws DataNotFoundException;
 
-    List<BookResp> getBookRespByGenreTitle(String title) throws DataNotFoundException;
+    List<BookResp> getBookRespByGenreTitle(String title, GenreMatch match, Integer page, Integer size) throws DataNotFoundException;
 
     List<BookResp> getBooksByAuthorId(Long id) throws DataNotFoundException;
 
+    List<BookResp> getBooksByIds(List<Long> ids);
+
     Book saveBook(Book book);
+
+    boolean decrementQuantity(Long bookId);
+
+    void incrementQuantity(Long bookId);
 }
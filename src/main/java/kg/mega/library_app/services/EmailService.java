@@ -1,5 +1,15 @@
 package kg.mega.library_app.services;
 
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.List;
+import java.util.Map;
+
 public interface EmailService {
     void sendMessage(String to, String subject, String text);
+
+    /**
+     * Sends the messages in SMTP batches and returns the failures keyed by the message position in the list.
+     */
+    Map<Integer, Exception> sendMessages(List<SimpleMailMessage> messages);
 }
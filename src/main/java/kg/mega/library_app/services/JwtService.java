@@ -16,4 +16,8 @@ public interface JwtService {
     String generateToken(Map<String, Object> extraClaims, UserDetails userDetails);
 
     boolean isTokenValid(String token, UserDetails userDetails);
+
+    Claims validateToken(String token);
+
+    boolean isTokenValid(Claims claims, UserDetails userDetails);
 }
@@ -0,0 +1,7 @@
+package kg.mega.library_app.services;
+
+public interface MailOutboxService {
+    void enqueue(String to, String subject, String text);
+
+    int dispatchPending();
+}
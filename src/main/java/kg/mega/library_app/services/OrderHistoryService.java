@@ -1,10 +1,15 @@
 package kg.mega.library_app.services;
 
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
 import kg.mega.library_app.models.constants.OrderStatus;
+import kg.mega.library_app.models.dto.requests.OrderHistoryFilterReq;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
 import kg.mega.library_app.models.dto.responses.OrderHistoryResp;
 import kg.mega.library_app.models.dto.responses.UserOrderHistoryResp;
 import kg.mega.library_app.models.entities.Order;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface OrderHistoryService {
@@ -12,7 +17,9 @@ public interface OrderHistoryService {
 
     List<OrderHistoryResp> getOrderHistoryByOrderId(Long orderId);
 
-    List<OrderHistoryResp> getAllOrderHistory();
+    CursorPageResp<OrderHistoryResp> getOrderHistory(OrderHistoryFilterReq filter, String after, Integer size) throws InvalidCursorException;
+
+    void writeAllOrderHistory(OutputStream out) throws IOException;
 
     List<UserOrderHistoryResp> getUserHistory();
 }
@@ -1,16 +1,22 @@
 package kg.mega.library_app.services;
 
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
+import kg.mega.library_app.models.dto.requests.OrderFilterReq;
 import kg.mega.library_app.models.dto.requests.OrderReq;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
 import kg.mega.library_app.models.dto.responses.OrderResp;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
-import java.util.List;
 
 public interface OrderService {
     OrderResp takeBook(OrderReq req) throws DataNotFoundException;
 
     OrderResp returnBook(Long orderId) throws DataNotFoundException;
 
-    List<OrderResp> getAllOrders();
+    CursorPageResp<OrderResp> getOrders(OrderFilterReq filter, String after, Integer size) throws InvalidCursorException;
+
+    void writeAllOrders(OutputStream out) throws IOException;
 }
@@ -2,16 +2,23 @@ package kg.mega.library_app.services;
 
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.InadmissibleEditingException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
+import kg.mega.library_app.models.dto.requests.ReviewFilterReq;
 import kg.mega.library_app.models.dto.requests.ReviewReq;
 import kg.mega.library_app.models.dto.requests.ReviewUpdateReq;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
 import kg.mega.library_app.models.dto.responses.ReviewResp;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ReviewService {
     ReviewResp createReview(ReviewReq req) throws DataNotFoundException;
 
-    List<ReviewResp> getAllReview();
+    CursorPageResp<ReviewResp> getReviews(ReviewFilterReq filter, String after, Integer size) throws InvalidCursorException;
+
+    void writeAllReviews(OutputStream out) throws IOException;
 
     ReviewResp updateReview(Long id, ReviewUpdateReq req) throws DataNotFoundException, InadmissibleEditingException;
 
@@ -2,21 +2,27 @@ package kg.mega.library_app.services;
 
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.DuplicateException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
 import kg.mega.library_app.models.dto.requests.AuthenticationReq;
 import kg.mega.library_app.models.dto.requests.RegistrationReq;
+import kg.mega.library_app.models.dto.requests.UserFilterReq;
 import kg.mega.library_app.models.dto.responses.AuthenticationResp;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
 import kg.mega.library_app.models.dto.responses.RegistrationInterimResp;
 import kg.mega.library_app.models.dto.responses.UserResp;
 import kg.mega.library_app.models.entities.User;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
 public interface UserService {
-    RegistrationInterimResp register(RegistrationReq req) throws DuplicateException;
+    RegistrationInterimResp register(RegistrationReq req, String applicationUrl) throws DuplicateException;
 
     AuthenticationResp authenticate(AuthenticationReq req);
 
-    List<UserResp> getAllUsers();
+    CursorPageResp<UserResp> getUsers(UserFilterReq filter, String after, Integer size) throws InvalidCursorException;
+
+    void writeAllUsers(OutputStream out) throws IOException;
 
     String blockUser(Long id) throws DataNotFoundException;
 
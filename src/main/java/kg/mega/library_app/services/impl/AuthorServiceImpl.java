@@ -1,15 +1,20 @@
 package kg.mega.library_app.services.impl;
 
+import kg.mega.library_app.common.EntityIdCache;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.DuplicateException;
 import kg.mega.library_app.dao.AuthorRepo;
 import kg.mega.library_app.models.dto.requests.AuthorReq;
 import kg.mega.library_app.models.entities.Author;
 import kg.mega.library_app.services.AuthorService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 
 @Slf4j
@@ -17,10 +22,15 @@ import java.util.List;
 @Service
 public class AuthorServiceImpl implements AuthorService {
     private final AuthorRepo authorRepo;
+    private final EntityIdCache<List<String>> authorIds;
 
     @Autowired
-    public AuthorServiceImpl(AuthorRepo authorRepo) {
+    public AuthorServiceImpl(AuthorRepo authorRepo,
+                             MeterRegistry meterRegistry,
+                             @Value("${library.cache.dictionary.max-size:10000}") long maxSize,
+                             @Value("${library.cache.dictionary.ttl-minutes:30}") long ttlMinutes) {
         this.authorRepo = authorRepo;
+        this.authorIds = new EntityIdCache<>("authorIds", meterRegistry, maxSize, Duration.ofMinutes(ttlMinutes));
     }
 
     @Override
@@ -30,18 +40,19 @@ public class AuthorServiceImpl implements AuthorService {
 
     @Override
     public Author createAuthor(AuthorReq req) throws DuplicateException {
-        if (authorRepo
-                .findByFirstnameAndLastname(req.getAuthorFirstname(), req.getAuthorLastname()) != null) {
+        if (getByFirstNameAndLastName(req.getAuthorFirstname(), req.getAuthorLastname()) != null) {
             throw new DuplicateException("Author : " + req.getAuthorFirstname() +
                     " " + req.getAuthorLastname() + "already exist!");
         }
-        return authorRepo.save(Author
+        Author author = authorRepo.save(Author
                 .builder()
                 .firstname(req.getAuthorFirstname())
                 .lastname(req.getAuthorLastname())
                 .dateOfBirth(req.getAuthorDateOfBirth())
                 .birthplace(req.getAuthorBirthplace())
                 .build());
+        authorIds.put(nameKey(author.getFirstname(), author.getLastname()), author.getId());
+        return author;
     }
 
     @Override
@@ -49,18 +60,29 @@ public class AuthorServiceImpl implements AuthorService {
         Author author = authorRepo
                 .findById(id)
                 .orElseThrow(() -> new DataNotFoundException("Author with id: " + id + " not found!"));
+        authorIds.evict(nameKey(author.getFirstname(), author.getLastname()));
         author.setFirstname(req.getAuthorFirstname());
         author.setLastname(req.getAuthorLastname());
         author.setBirthplace(req.getAuthorBirthplace());
         author.setDateOfBirth(req.getAuthorDateOfBirth());
         authorRepo.save(author);
+        authorIds.evict(nameKey(req.getAuthorFirstname(), req.getAuthorLastname()));
         log.info("Author with id: {} updated successfully!", id);
         return "Author with id: " + id + " successfully updated!";
     }
 
     @Override
     public Author getByFirstNameAndLastName(String authorFirstname, String authorLastname) {
-        return authorRepo.findByFirstnameAndLastname(authorFirstname, authorLastname);
+        List<String> key = nameKey(authorFirstname, authorLastname);
+        Long id = authorIds.get(key);
+        if (id != null) {
+            return authorRepo.getReferenceById(id);
+        }
+        Author author = authorRepo.findByFirstnameAndLastname(authorFirstname, authorLastname);
+        if (author != null) {
+            authorIds.put(key, author.getId());
+        }
+        return author;
     }
 
     @Override
@@ -70,7 +92,17 @@ public class AuthorServiceImpl implements AuthorService {
                 .orElseThrow(() -> new DataNotFoundException("Author with id: " + id + " not found!"));
 
         authorRepo.delete(author);
+        authorIds.evict(nameKey(author.getFirstname(), author.getLastname()));
         log.info("Author with id: {} deleted successfully", id);
         return "Author with id: " + id + " deleted successfully";
     }
+
+    @Override
+    public void evictCachedAuthor(Long id) {
+        authorIds.evictId(id);
+    }
+
+    private static List<String> nameKey(String firstname, String lastname) {
+        return Arrays.asList(firstname, lastname);
+    }
 }
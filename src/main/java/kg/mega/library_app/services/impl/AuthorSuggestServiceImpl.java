@@ -0,0 +1,77 @@
+package kg.mega.library_app.services.impl;
+
+import kg.mega.library_app.common.PrefixIndex;
+import kg.mega.library_app.dao.AuthorRepo;
+import kg.mega.library_app.models.dto.responses.AuthorSuggestionResp;
+import kg.mega.library_app.services.AuthorSuggestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static kg.mega.library_app.common.TransactionHooks.afterCommit;
+
+@Slf4j
+
+@Service
+public class AuthorSuggestServiceImpl implements AuthorSuggestService {
+    private final AuthorRepo authorRepo;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxLimit;
+    private final PrefixIndex<AuthorSuggestionResp> index = new PrefixIndex<>();
+
+    @Autowired
+    public AuthorSuggestServiceImpl(AuthorRepo authorRepo,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${library.authors.suggest.max-limit:50}") int maxLimit) {
+        this.authorRepo = authorRepo;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public List<AuthorSuggestionResp> suggest(String prefix, Integer limit) {
+        return index.search(prefix, Math.min(limit, maxLimit));
+    }
+
+    @Override
+    public void putAuthor(Long id, String firstname, String lastname) {
+        AuthorSuggestionResp suggestion = new AuthorSuggestionResp(id, firstname, lastname);
+        afterCommit(() -> put(suggestion));
+    }
+
+    @Override
+    public void removeAuthor(Long id) {
+        afterCommit(() -> index.remove(id));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        index.clear();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<AuthorSuggestionResp> suggestions = authorRepo.streamAllSuggestions()) {
+                suggestions.forEach(this::put);
+            }
+        });
+        log.info("Author suggestions loaded: {} authors.", index.size());
+    }
+
+    private void put(AuthorSuggestionResp suggestion) {
+        String firstname = Objects.toString(suggestion.getAuthorFirstname(), "");
+        String lastname = Objects.toString(suggestion.getAuthorLastname(), "");
+        index.put(suggestion.getId(), suggestion, List.of(
+                firstname + " " + lastname,
+                lastname + " " + firstname
+        ));
+    }
+}
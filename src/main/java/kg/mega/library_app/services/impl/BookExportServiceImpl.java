@@ -0,0 +1,104 @@
+package kg.mega.library_app.services.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kg.mega.library_app.common.CsvWriter;
+import kg.mega.library_app.dao.BookRepo;
+import kg.mega.library_app.models.constants.ExportFormat;
+import kg.mega.library_app.models.dto.projections.BookExportView;
+import kg.mega.library_app.services.BookExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Slf4j
+
+@Service
+public class BookExportServiceImpl implements BookExportService {
+    private static final String GENRE_SEPARATOR = "\\|";
+
+    private final BookRepo bookRepo;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public BookExportServiceImpl(BookRepo bookRepo, ObjectMapper objectMapper) {
+        this.bookRepo = bookRepo;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBooks(ExportFormat format, OutputStream out) throws IOException {
+        long exported;
+        try (Stream<BookExportView> rows = bookRepo.streamAllForExport()) {
+            exported = switch (format) {
+                case CSV -> writeCsv(rows.iterator(), out);
+                case NDJSON -> writeNdjson(rows.iterator(), out);
+            };
+        }
+        log.info("Exported {} books as {}.", exported, format);
+    }
+
+    private long writeCsv(Iterator<BookExportView> rows, OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, UTF_8)));
+        csv.writeRecord("id", "title", "description", "publication_year", "quantity",
+                "author_firstname", "author_lastname", "genres");
+        long count = 0;
+        while (rows.hasNext()) {
+            BookExportView view = rows.next();
+            csv.writeRecord(
+                    view.getId(),
+                    view.getTitle(),
+                    view.getDescription(),
+                    view.getPublicationYear(),
+                    view.getQuantity(),
+                    view.getAuthorFirstname(),
+                    view.getAuthorLastname(),
+                    view.getGenreTitles()
+            );
+            count++;
+        }
+        csv.flush();
+        return count;
+    }
+
+    private long writeNdjson(Iterator<BookExportView> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                BookExportView view = rows.next();
+                json.writeStartObject();
+                json.writeNumberField("id", view.getId());
+                json.writeStringField("title", view.getTitle());
+                json.writeStringField("description", view.getDescription());
+                json.writeStringField("publication_year", view.getPublicationYear());
+                json.writeNumberField("quantity", view.getQuantity());
+                json.writeStringField("author_firstname", view.getAuthorFirstname());
+                json.writeStringField("author_lastname", view.getAuthorLastname());
+                json.writeArrayFieldStart("genres");
+                if (view.getGenreTitles() != null) {
+                    for (String title : view.getGenreTitles().split(GENRE_SEPARATOR)) {
+                        json.writeString(title);
+                    }
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+                json.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,421 @@
+package kg.mega.library_app.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import kg.mega.library_app.common.CsvReader;
+import kg.mega.library_app.dao.AuthorRepo;
+import kg.mega.library_app.dao.BookRepo;
+import kg.mega.library_app.dao.GenreRepo;
+import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.models.dto.projections.BookGenreView;
+import kg.mega.library_app.models.dto.projections.BookKeyView;
+import kg.mega.library_app.models.dto.requests.AuthorReq;
+import kg.mega.library_app.models.dto.requests.BookReq;
+import kg.mega.library_app.models.dto.requests.GenreReq;
+import kg.mega.library_app.models.dto.responses.BookImportResp;
+import kg.mega.library_app.models.entities.Author;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.models.entities.Genre;
+import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
+import kg.mega.library_app.services.BookImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Slf4j
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final String GENRE_SEPARATOR = "\\|";
+
+    private final BookRepo bookRepo;
+    private final AuthorRepo authorRepo;
+    private final GenreRepo genreRepo;
+    private final UserRepo userRepo;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader bookReader;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int batchSize;
+
+    @Autowired
+    public BookImportServiceImpl(BookRepo bookRepo,
+                                 AuthorRepo authorRepo,
+                                 GenreRepo genreRepo,
+                                 UserRepo userRepo,
+                                 EntityManager entityManager,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 @Value("${library.import.chunk-size:1000}") int chunkSize,
+                                 @Value("${library.import.batch-size:50}") int batchSize) {
+        this.bookRepo = bookRepo;
+        this.authorRepo = authorRepo;
+        this.genreRepo = genreRepo;
+        this.userRepo = userRepo;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.bookReader = objectMapper.readerFor(BookReq.class);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public BookImportResp importJson(InputStream body) throws IOException {
+        ImportRun run = new ImportRun(currentUserId());
+        try (MappingIterator<BookReq> rows = bookReader.readValues(body)) {
+            while (rows.hasNextValue()) {
+                run.add(rows.nextValue());
+            }
+        } catch (JsonProcessingException ex) {
+            run.reject("Malformed JSON: " + ex.getOriginalMessage());
+        }
+        return run.finish();
+    }
+
+    @Override
+    public BookImportResp importCsv(InputStream body) throws IOException {
+        ImportRun run = new ImportRun(currentUserId());
+        try (CsvReader csv = new CsvReader(new InputStreamReader(body, UTF_8))) {
+            if (csv.hasNext()) {
+                Map<String, Integer> header = header(csv.next());
+                while (csv.hasNext()) {
+                    List<String> record = csv.next();
+                    BookReq req;
+                    try {
+                        req = toBookReq(header, record);
+                    } catch (IllegalArgumentException | DateTimeException ex) {
+                        run.received++;
+                        run.reject(ex.getMessage());
+                        continue;
+                    }
+                    run.add(req);
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            run.reject("Malformed CSV: " + ex.getMessage());
+        }
+        return run.finish();
+    }
+
+    private Map<String, Integer> header(List<String> columns) {
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return header;
+    }
+
+    private BookReq toBookReq(Map<String, Integer> header, List<String> record) {
+        String quantity = column(header, record, "quantity");
+        String dateOfBirth = column(header, record, "author_date_of_birth");
+        String genres = column(header, record, "genres");
+
+        AuthorReq author = AuthorReq
+                .builder()
+                .authorFirstname(column(header, record, "author_firstname"))
+                .authorLastname(column(header, record, "author_lastname"))
+                .authorDateOfBirth(dateOfBirth == null ? null : LocalDate.parse(dateOfBirth))
+                .authorBirthplace(column(header, record, "author_birthplace"))
+                .build();
+
+        return BookReq
+                .builder()
+                .title(column(header, record, "title"))
+                .description(column(header, record, "description"))
+                .publicationYear(column(header, record, "publication_year"))
+                .quantity(quantity == null ? null : Integer.valueOf(quantity))
+                .author(author)
+                .genres(genres == null
+                        ? new HashSet<>()
+                        : Arrays.stream(genres.split(GENRE_SEPARATOR))
+                        .map(String::trim)
+                        .filter(title -> !title.isEmpty())
+                        .map(GenreReq::new)
+                        .collect(Collectors.toSet()))
+                .build();
+    }
+
+    private String column(Map<String, Integer> header, List<String> record, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<BookReq> persistChunk(List<BookReq> chunk, Long ownerId) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+        List<BookReq> fresh = withoutExisting(chunk);
+        if (fresh.isEmpty()) {
+            return fresh;
+        }
+        Map<List<String>, Author> authors = resolveAuthors(fresh);
+        Map<String, Genre> genres = resolveGenres(fresh);
+        User owner = ownerId == null ? null : userRepo.getReferenceById(ownerId);
+
+        List<Book> books = new ArrayList<>(fresh.size());
+        for (BookReq req : fresh) {
+            books.add(Book
+                    .builder()
+                    .title(req.getTitle())
+                    .description(req.getDescription())
+                    .publicationYear(req.getPublicationYear())
+                    .quantity(req.getQuantity())
+                    .user(owner)
+                    .author(authors.get(authorKey(req.getAuthor())))
+                    .genres(genreTitles(req)
+                            .stream()
+                            .map(genres::get)
+                            .collect(Collectors.toSet()))
+                    .build());
+        }
+        bookRepo.saveAll(books);
+        entityManager.flush();
+        entityManager.clear();
+        return fresh;
+    }
+
+    private List<BookReq> withoutExisting(List<BookReq> chunk) {
+        Set<String> titles = chunk
+                .stream()
+                .map(BookReq::getTitle)
+                .collect(Collectors.toSet());
+        List<BookKeyView> existing = bookRepo.findKeyViewsByTitles(titles);
+        if (existing.isEmpty()) {
+            return chunk;
+        }
+
+        Map<Long, Set<String>> genresByBook = bookRepo
+                .findGenreTitlesByBookIds(existing.stream().map(BookKeyView::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(BookGenreView::getBookId,
+                        Collectors.mapping(BookGenreView::getGenreTitle, Collectors.toSet())));
+        Map<List<Object>, Set<String>> existingGenres = new HashMap<>();
+        for (BookKeyView view : existing) {
+            existingGenres
+                    .computeIfAbsent(bookKey(view), key -> new HashSet<>())
+                    .addAll(genresByBook.getOrDefault(view.getId(), Set.of()));
+        }
+
+        return chunk
+                .stream()
+                .filter(req -> !overlaps(existingGenres.get(bookKey(req)), genreTitles(req)))
+                .toList();
+    }
+
+    private Map<List<String>, Author> resolveAuthors(List<BookReq> books) {
+        Map<List<String>, AuthorReq> requested = new LinkedHashMap<>();
+        books.forEach(req -> requested.putIfAbsent(authorKey(req.getAuthor()), req.getAuthor()));
+
+        Set<String> lastnames = requested
+                .keySet()
+                .stream()
+                .map(key -> key.get(1))
+                .collect(Collectors.toSet());
+        Map<List<String>, Author> authors = new HashMap<>();
+        for (Author author : authorRepo.findAllByLastnameIn(lastnames)) {
+            List<String> key = List.of(author.getFirstname(), author.getLastname());
+            if (requested.containsKey(key)) {
+                authors.putIfAbsent(key, author);
+            }
+        }
+
+        List<Author> created = new ArrayList<>();
+        requested.forEach((key, req) -> {
+            if (!authors.containsKey(key)) {
+                Author author = Author
+                        .builder()
+                        .firstname(req.getAuthorFirstname())
+                        .lastname(req.getAuthorLastname())
+                        .dateOfBirth(req.getAuthorDateOfBirth())
+                        .birthplace(req.getAuthorBirthplace())
+                        .build();
+                authors.put(key, author);
+                created.add(author);
+            }
+        });
+        authorRepo.saveAll(created);
+        return authors;
+    }
+
+    private Map<String, Genre> resolveGenres(List<BookReq> books) {
+        Map<String, GenreReq> requested = new LinkedHashMap<>();
+        books.forEach(req -> req.getGenres()
+                .stream()
+                .filter(Objects::nonNull)
+                .forEach(genre -> requested.putIfAbsent(genre.getTitle(), genre)));
+
+        Map<String, Genre> genres = new HashMap<>();
+        genreRepo.findAllByTitleIn(requested.keySet()).forEach(genre -> genres.putIfAbsent(genre.getTitle(), genre));
+
+        List<Genre> created = new ArrayList<>();
+        requested.forEach((title, req) -> {
+            if (!genres.containsKey(title)) {
+                Genre genre = new Genre(req.getTitle(), req.getDescription());
+                genres.put(title, genre);
+                created.add(genre);
+            }
+        });
+        genreRepo.saveAll(created);
+        return genres;
+    }
+
+    private List<String> validate(BookReq req) {
+        Set<ConstraintViolation<?>> violations = new LinkedHashSet<>(validator.validate(req));
+        if (req.getAuthor() != null) {
+            violations.addAll(validator.validate(req.getAuthor()));
+        }
+        if (req.getGenres() != null) {
+            req.getGenres().stream()
+                    .filter(Objects::nonNull)
+                    .forEach(genre -> violations.addAll(validator.validate(genre)));
+        }
+        return violations
+                .stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+
+    private static List<Object> bookKey(BookReq req) {
+        return Arrays.asList(
+                req.getTitle(),
+                req.getDescription(),
+                req.getPublicationYear(),
+                req.getQuantity(),
+                req.getAuthor().getAuthorFirstname(),
+                req.getAuthor().getAuthorLastname()
+        );
+    }
+
+    private static List<Object> bookKey(BookKeyView view) {
+        return Arrays.asList(
+                view.getTitle(),
+                view.getDescription(),
+                view.getPublicationYear(),
+                view.getQuantity(),
+                view.getAuthorFirstname(),
+                view.getAuthorLastname()
+        );
+    }
+
+    private static List<String> authorKey(AuthorReq req) {
+        return List.of(req.getAuthorFirstname(), req.getAuthorLastname());
+    }
+
+    private static Set<String> genreTitles(BookReq req) {
+        return req.getGenres()
+                .stream()
+                .filter(Objects::nonNull)
+                .map(GenreReq::getTitle)
+                .collect(Collectors.toSet());
+    }
+
+    private static boolean overlaps(Set<String> existing, Set<String> requested) {
+        return existing != null && !Collections.disjoint(existing, requested);
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private class ImportRun {
+        final Long ownerId;
+        final Map<List<Object>, Set<String>> seen = new HashMap<>();
+        final List<BookReq> chunk = new ArrayList<>(chunkSize);
+        final List<String> errors = new ArrayList<>();
+        int received;
+        int imported;
+        int duplicates;
+        int rejected;
+
+        ImportRun(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        void add(BookReq req) {
+            received++;
+            List<String> violations = validate(req);
+            if (!violations.isEmpty()) {
+                reject(String.join(", ", violations));
+                return;
+            }
+
+            Set<String> genres = genreTitles(req);
+            Set<String> seenGenres = seen.computeIfAbsent(bookKey(req), key -> new HashSet<>());
+            if (overlaps(seenGenres, genres)) {
+                duplicates++;
+                return;
+            }
+            seenGenres.addAll(genres);
+
+            chunk.add(req);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Row " + received + ": " + message);
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<BookReq> persisted = transactionTemplate.execute(status -> persistChunk(chunk, ownerId));
+            int stored = persisted == null ? 0 : persisted.size();
+            imported += stored;
+            duplicates += chunk.size() - stored;
+            chunk.clear();
+        }
+
+        BookImportResp finish() {
+            flush();
+            log.info("Book import finished: {} received, {} imported, {} duplicates, {} rejected.",
+                    received, imported, duplicates, rejected);
+            return BookImportResp
+                    .builder()
+                    .received(received)
+                    .imported(imported)
+                    .duplicates(duplicates)
+                    .rejected(rejected)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package kg.mega.library_app.services.impl;
+
+import jakarta.annotation.PreDestroy;
+import kg.mega.library_app.common.CursorPages;
+import kg.mega.library_app.dao.BookRepo;
+import kg.mega.library_app.models.dto.projections.BookExportView;
+import kg.mega.library_app.models.dto.responses.BookResp;
+import kg.mega.library_app.services.BookSearchService;
+import kg.mega.library_app.services.BookService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+@Slf4j
+
+@Service
+public class BookSearchServiceImpl implements BookSearchService {
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String AUTHOR = "author";
+    private static final String GENRES = "genres";
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            TITLE, 3f,
+            AUTHOR, 2f,
+            GENRES, 1.5f,
+            DESCRIPTION, 1f
+    );
+    private static final Set<String> ID_FIELDS = Set.of(ID);
+    private static final int MAX_TERMS = 16;
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final int MAX_RESULTS = 1000;
+
+    private final BookRepo bookRepo;
+    private final BookService bookService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Executor searchIndexExecutor;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    @Autowired
+    public BookSearchServiceImpl(BookRepo bookRepo,
+                                 BookService bookService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("searchIndexExecutor") Executor searchIndexExecutor,
+                                 @Value("${library.search.index-path:}") String indexPath) throws IOException {
+        this.bookRepo = bookRepo;
+        this.bookService = bookService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.searchIndexExecutor = searchIndexExecutor;
+        this.directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @Override
+    public List<BookResp> search(String query, Integer page, Integer size) throws IOException {
+        Query luceneQuery = buildQuery(query);
+        if (luceneQuery == null) {
+            return new ArrayList<>();
+        }
+
+        int limit = CursorPages.limit(size);
+        long offset = (long) page * limit;
+        if (offset >= MAX_RESULTS) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = new ArrayList<>();
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(luceneQuery, (int) Math.min(offset + limit, MAX_RESULTS));
+            StoredFields storedFields = searcher.storedFields();
+            for (int i = (int) offset; i < top.scoreDocs.length; i++) {
+                ids.add(Long.valueOf(storedFields.document(top.scoreDocs[i].doc, ID_FIELDS).get(ID)));
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+        return bookService.getBooksByIds(ids);
+    }
+
+    @Override
+    public void indexBook(Long bookId) {
+        pendingChanges().ifPresentOrElse(
+                pending -> {
+                    pending.removed.remove(bookId);
+                    pending.indexed.add(bookId);
+                },
+                () -> submit(Set.of(bookId), Set.of(), Set.of()));
+    }
+
+    @Override
+    public void removeBook(Long bookId) {
+        pendingChanges().ifPresentOrElse(
+                pending -> {
+                    pending.indexed.remove(bookId);
+                    pending.removed.add(bookId);
+                },
+                () -> submit(Set.of(), Set.of(bookId), Set.of()));
+    }
+
+    @Override
+    public void indexAuthorBooks(Long authorId) {
+        pendingChanges().ifPresentOrElse(
+                pending -> pending.authors.add(authorId),
+                () -> submit(Set.of(), Set.of(), Set.of(authorId)));
+    }
+
+    @Override
+    public void reindexAll() throws IOException {
+        writer.deleteAll();
+        Long indexed = readOnlyTransaction.execute(status -> {
+            try (Stream<BookExportView> rows = bookRepo.streamAllForExport()) {
+                long count = 0;
+                for (Iterator<BookExportView> it = rows.iterator(); it.hasNext(); count++) {
+                    writer.addDocument(toDocument(it.next()));
+                }
+                return count;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        writer.commit();
+        searcherManager.maybeRefresh();
+        log.info("Search index rebuilt with {} books.", indexed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (writer.getDocStats().numDocs == 0) {
+            searchIndexExecutor.execute(() -> {
+                try {
+                    reindexAll();
+                } catch (IOException | RuntimeException ex) {
+                    log.error("Failed to rebuild the search index: {}", ex.getMessage());
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${library.search.commit-delay:30000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Optional<PendingChanges> pendingChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return Optional.empty();
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            PendingChanges changes = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(changes.indexed, changes.removed, changes.authors);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BookSearchServiceImpl.this);
+                }
+            });
+            pending = changes;
+        }
+        return Optional.of(pending);
+    }
+
+    private void submit(Set<Long> indexed, Set<Long> removed, Set<Long> authors) {
+        searchIndexExecutor.execute(() -> {
+            try {
+                apply(indexed, removed, authors);
+            } catch (IOException | RuntimeException ex) {
+                log.error("Failed to update the search index: {}", ex.getMessage());
+            }
+        });
+    }
+
+    private void apply(Set<Long> indexed, Set<Long> removed, Set<Long> authors) throws IOException {
+        for (Long id : removed) {
+            writer.deleteDocuments(new Term(ID, id.toString()));
+        }
+
+        Set<Long> books = new LinkedHashSet<>(indexed);
+        for (Long authorId : authors) {
+            bookRepo.findIdsByAuthorId(authorId).stream()
+                    .filter(id -> !removed.contains(id))
+                    .forEach(books::add);
+        }
+        List<Long> ids = new ArrayList<>(books);
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size()));
+            Map<Long, BookExportView> views = new HashMap<>();
+            bookRepo.findExportViewsByIds(chunk).forEach(view -> views.put(view.getId(), view));
+            for (Long id : chunk) {
+                BookExportView view = views.get(id);
+                if (view == null) {
+                    writer.deleteDocuments(new Term(ID, id.toString()));
+                } else {
+                    writer.updateDocument(new Term(ID, id.toString()), toDocument(view));
+                }
+            }
+        }
+        searcherManager.maybeRefresh();
+    }
+
+    private Document toDocument(BookExportView view) {
+        Document document = new Document();
+        document.add(new StringField(ID, view.getId().toString(), Field.Store.YES));
+        addText(document, TITLE, view.getTitle());
+        addText(document, DESCRIPTION, view.getDescription());
+        addText(document, AUTHOR, Stream.of(view.getAuthorFirstname(), view.getAuthorLastname())
+                .filter(Objects::nonNull)
+                .reduce((first, last) -> first + " " + last)
+                .orElse(null));
+        addText(document, GENRES, view.getGenreTitles());
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private Query buildQuery(String text) throws IOException {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            boolean prefix = i == terms.size() - 1 && term.length() > 1;
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            FIELD_BOOSTS.forEach((field, boost) -> {
+                anyField.add(new BoostQuery(new TermQuery(new Term(field, term)), boost), BooleanClause.Occur.SHOULD);
+                if (prefix) {
+                    anyField.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost / 2), BooleanClause.Occur.SHOULD);
+                }
+            });
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        try (TokenStream tokens = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken() && terms.size() < MAX_TERMS) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        }
+        return terms;
+    }
+
+    private static final class PendingChanges {
+        final Set<Long> indexed = new HashSet<>();
+        final Set<Long> removed = new HashSet<>();
+        final Set<Long> authors = new HashSet<>();
+    }
+}
@@ -1,15 +1,24 @@
 package kg.mega.library_app.services.impl;
 
+import kg.mega.library_app.common.CatalogVersion;
+import kg.mega.library_app.common.CursorCodec;
+import kg.mega.library_app.common.CursorPages;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.DuplicateException;
 import kg.mega.library_app.common.exceptions.InadmissibleEditingException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
 import kg.mega.library_app.dao.BookRepo;
+import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.models.constants.GenreMatch;
+import kg.mega.library_app.models.dto.projections.BookGenreView;
+import kg.mega.library_app.models.dto.projections.BookView;
 import kg.mega.library_app.models.dto.requests.*;
 import kg.mega.library_app.models.dto.responses.BookResp;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
 import kg.mega.library_app.models.entities.Author;
 import kg.mega.library_app.models.entities.Book;
 import kg.mega.library_app.models.entities.Genre;
-import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
 import kg.mega.library_app.services.AuthorService;
 import kg.mega.library_app.services.BookService;
 import kg.mega.library_app.services.GenreService;
@@ -18,11 +27,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -32,17 +39,22 @@ public class BookServiceImpl implements BookService {
     private final BookRepo bookRepo;
     private final AuthorService authorService;
     private final GenreService genreService;
+    private final UserRepo userRepo;
+    private final CatalogVersion catalogVersion;
 
     @Autowired
-    public BookServiceImpl(BookRepo bookRepo, AuthorService authorService, GenreService genreService) {
+    public BookServiceImpl(BookRepo bookRepo, AuthorService authorService, GenreService genreService, UserRepo userRepo,
+                           CatalogVersion catalogVersion) {
         this.bookRepo = bookRepo;
         this.authorService = authorService;
         this.genreService = genreService;
+        this.userRepo = userRepo;
+        this.catalogVersion = catalogVersion;
     }
 
     @Override
     public List<BookResp> getBookRespByGenre(Long id) throws DataNotFoundException {
-        List<BookResp> respList = mapBookList(bookRepo.findAllByGenreId(id));
+        List<BookResp> respList = mapBookViews(bookRepo.findAllViewsByGenreId(id));
         if (respList.isEmpty()) {
             throw new DataNotFoundException("Genre not found!");
         }
@@ -51,13 +63,8 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public List<BookResp> getBooksByAuthor(AuthorFullNameReq req) throws DataNotFoundException {
-        List<Author> authors = authorService.getAllByFirstNameAndLastName(req.getAuthorFirstname(), req.getAuthorLastname());
-        List<Book> books = new ArrayList<>();
-        for (Author author : authors) {
-            List<Book> authorBooks = bookRepo.findAllByAuthorFirstnameAndAuthorLastname(author.getFirstname(), author.getLastname());
-            books.addAll(authorBooks);
-        }
-        List<BookResp> respList = mapBookList(books);
+        List<BookResp> respList = mapBookViews(bookRepo
+                .findAllViewsByAuthorNameContaining(req.getAuthorFirstname(), req.getAuthorLastname()));
         if (respList.isEmpty()) {
             throw new DataNotFoundException("Author not found!");
         }
@@ -72,14 +79,14 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
-    public List<BookResp> getBookRespByGenreTitle(String title) throws DataNotFoundException {
-        List<Genre> genres = genreService.getAllByTitle(title);
-        List<Book> books = new ArrayList<>();
-        for (Genre genre : genres) {
-            List<Book> genreBook = bookRepo.findAllByGenreTitle(genre.getTitle());
-            books.addAll(genreBook);
-        }
-        List<BookResp> respList = mapBookList(books);
+    public List<BookResp> getBookRespByGenreTitle(String title, GenreMatch match, Integer page, Integer size)
+            throws DataNotFoundException {
+        String escaped = title
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        String pattern = match == GenreMatch.PREFIX ? escaped + "%" : "%" + escaped + "%";
+        List<BookResp> respList = mapBookViews(bookRepo.findAllViewsByGenreTitleLike(pattern, PageRequest.of(page, size)));
         if (respList.isEmpty()) {
             throw new DataNotFoundException("Genre not found!");
         }
@@ -89,34 +96,79 @@ public class BookServiceImpl implements BookService {
     @Override
     public List<BookResp> getBooksByAuthorId(Long id) throws DataNotFoundException {
 
-        List<BookResp> respList = mapBookList(bookRepo.findAllByAuthorId(id));
+        List<BookResp> respList = mapBookViews(bookRepo.findAllViewsByAuthorId(id));
         if (respList.isEmpty()) {
             throw new DataNotFoundException("Author not found!");
         }
         return respList;
     }
 
+    @Override
+    public List<BookResp> getBooksByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.putIfAbsent(ids.get(i), i);
+        }
+        List<BookView> views = new ArrayList<>(bookRepo.findAllViewsByIds(positions.keySet()));
+        views.sort(Comparator.comparing(view -> positions.get(view.getId())));
+        return mapBookViews(views);
+    }
+
     @Override
     public Book saveBook(Book book) {
-        return bookRepo.save(book);
+        Book saved = bookRepo.save(book);
+        catalogVersion.booksChanged();
+        return saved;
     }
 
-    private List<BookResp> mapBookList(List<Book> books) {
-        return books
+    // Bulk updates bypass the entity listeners, so the quantity changes bump the catalog version here.
+    @Override
+    public boolean decrementQuantity(Long bookId) {
+        boolean taken = bookRepo.decrementQuantity(bookId) > 0;
+        if (taken) {
+            catalogVersion.booksChanged();
+        }
+        return taken;
+    }
+
+    @Override
+    public void incrementQuantity(Long bookId) {
+        bookRepo.incrementQuantity(bookId);
+        catalogVersion.booksChanged();
+    }
+
+    private List<BookResp> mapBookViews(List<BookView> views) {
+        if (views.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> ids = views
                 .stream()
-                .map(book -> BookResp.builder()
-                        .bookTitle(book.getTitle())
-                        .authorFirstname(book.getAuthor().getFirstname())
-                        .authorLastname(book.getAuthor().getLastname())
-                        .quantity(book.getQuantity())
-                        .genreTitle(book.getGenres().stream()
-                                .map(Genre::getTitle)
-                                .collect(Collectors.toList()))
+                .map(BookView::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, List<String>> genreTitles = ids.isEmpty()
+                ? Collections.emptyMap()
+                : bookRepo.findGenreTitlesByBookIds(ids)
+                .stream()
+                .collect(Collectors.groupingBy(BookGenreView::getBookId,
+                        Collectors.mapping(BookGenreView::getGenreTitle, Collectors.toList())));
+        return views
+                .stream()
+                .map(view -> BookResp.builder()
+                        .bookTitle(view.getTitle())
+                        .authorFirstname(view.getAuthorFirstname())
+                        .authorLastname(view.getAuthorLastname())
+                        .quantity(view.getQuantity())
+                        .genreTitle(genreTitles.getOrDefault(view.getId(), new ArrayList<>()))
                         .build())
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public BookResp createBook(BookReq req) throws DuplicateException {
         if (bookRepo.existsByBookDetailsAndGenreTitlesAndAuthorName
                 (
@@ -140,7 +192,7 @@ public class BookServiceImpl implements BookService {
                 .description(req.getDescription())
                 .publicationYear(req.getPublicationYear())
                 .quantity(req.getQuantity())
-                .user((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .user(userRepo.getReferenceById(currentUser().getId()))
                 .build();
 
         Author author = retrieveAuthor(req.getAuthor());
@@ -150,21 +202,23 @@ public class BookServiceImpl implements BookService {
         book.setGenres(genres);
 
         bookRepo.save(book);
+        catalogVersion.booksChanged();
         log.info("Book '{}' created successfully.", book.getTitle());
 
         return BookResp
                 .builder()
                 .bookTitle(book.getTitle())
-                .authorFirstname(book.getAuthor().getFirstname())
-                .authorLastname(book.getAuthor().getLastname())
+                .authorFirstname(req.getAuthor().getAuthorFirstname())
+                .authorLastname(req.getAuthor().getAuthorLastname())
                 .quantity(book.getQuantity())
-                .genreTitle(book.getGenres().stream()
-                        .map(Genre::getTitle)
+                .genreTitle(req.getGenres().stream()
+                        .map(GenreReq::getTitle)
                         .collect(Collectors.toList()))
                 .build();
     }
 
     @Override
+    @Transactional
     public BookResp updateBookEntirely(Long id, BookReq req) throws DataNotFoundException, DuplicateException, InadmissibleEditingException {
         if (bookRepo.existsByBookDetailsAndGenreTitlesAndAuthorName
                 (
@@ -182,7 +236,7 @@ public class BookServiceImpl implements BookService {
             throw new DuplicateException("Such a book already exists!");
         }
 
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        AuthenticatedUser user = currentUser();
 
         Book book = checkBook(id, req.getTitle(), req.getDescription(), req.getPublicationYear(), req.getQuantity());
 
@@ -197,16 +251,17 @@ public class BookServiceImpl implements BookService {
         book.setGenres(genres);
 
         bookRepo.save(book);
+        catalogVersion.booksChanged();
         log.info("Book '{}' entirely updated successfully.", book.getTitle());
 
         return BookResp
                 .builder()
                 .bookTitle(book.getTitle())
-                .authorFirstname(book.getAuthor().getFirstname())
-                .authorLastname(book.getAuthor().getLastname())
+                .authorFirstname(req.getAuthor().getAuthorFirstname())
+                .authorLastname(req.getAuthor().getAuthorLastname())
                 .quantity(book.getQuantity())
-                .genreTitle(book.getGenres().stream()
-                        .map(Genre::getTitle)
+                .genreTitle(req.getGenres().stream()
+                        .map(GenreReq::getTitle)
                         .collect(Collectors.toList()))
                 .build();
     }
@@ -223,7 +278,7 @@ public class BookServiceImpl implements BookService {
             throw new DuplicateException("Such a book already exists!");
         }
 
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        AuthenticatedUser user = currentUser();
 
         Book book = checkBook(id, req.getTitle(), req.getDescription(), req.getPublicationYear(), req.getQuantity());
 
@@ -232,6 +287,7 @@ public class BookServiceImpl implements BookService {
         }
 
         bookRepo.save(book);
+        catalogVersion.booksChanged();
         log.info("Book '{}' details updated successfully.", book.getTitle());
 
         return BookResp
@@ -248,7 +304,7 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public String deleteBook(Long id) throws DataNotFoundException, InadmissibleEditingException {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        AuthenticatedUser user = currentUser();
 
         Book book = bookRepo
                 .findById(id)
@@ -259,6 +315,7 @@ public class BookServiceImpl implements BookService {
         }
 
         bookRepo.deleteById(book.getId());
+        catalogVersion.booksChanged();
         log.info("Book with id: {} deleted successfully", id);
 
         return "Book with id: " + id + " deleted successfully";
@@ -266,7 +323,14 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public List<BookResp> getAllBooks(Integer page, Integer size) {
-        return mapBookList(bookRepo.findAll(PageRequest.of(page, size)).getContent());
+        return mapBookViews(bookRepo.findAllViews(PageRequest.of(page, size)).getContent());
+    }
+
+    @Override
+    public CursorPageResp<BookResp> getAllBooksAfter(String after, Integer size) throws InvalidCursorException {
+        int limit = CursorPages.limit(size);
+        List<BookView> views = bookRepo.findAllViewsAfter(CursorCodec.decode(after), PageRequest.of(0, limit + 1));
+        return CursorPages.page(views, limit, BookView::getId, this::mapBookViews);
     }
 
     private Book checkBook(Long id, String title, String description, String publicationYear, Integer quantity)
@@ -306,4 +370,8 @@ public class BookServiceImpl implements BookService {
         }
         return genres;
     }
-}
\ No newline at end of file
+
+    private AuthenticatedUser currentUser() {
+        return (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+}
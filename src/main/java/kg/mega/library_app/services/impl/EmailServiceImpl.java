@@ -1,21 +1,42 @@
 package kg.mega.library_app.services.impl;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import kg.mega.library_app.services.EmailService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+
 @Slf4j
 
 @Service
 public class EmailServiceImpl implements EmailService {
+    private static final String SEND_METRIC = "library.mail.send";
+    private static final String FAILED_METRIC = "library.mail.failed";
+
     private final JavaMailSender javaMailSender;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Counter singleFailed;
+    private final Counter batchFailed;
 
     @Autowired
-    public EmailServiceImpl(JavaMailSender javaMailSender) {
+    public EmailServiceImpl(JavaMailSender javaMailSender,
+                            MeterRegistry meterRegistry,
+                            @Value("${library.mail.batch-size:50}") int batchSize) {
         this.javaMailSender = javaMailSender;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.singleFailed = failedCounter("single");
+        this.batchFailed = failedCounter("batch");
     }
 
     @Override
@@ -24,7 +45,78 @@ public class EmailServiceImpl implements EmailService {
         message.setTo(to);
         message.setSubject(subject);
         message.setText(text);
-        javaMailSender.send(message);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            javaMailSender.send(message);
+        } catch (MailException ex) {
+            sample.stop(sendTimer("single", "ERROR"));
+            singleFailed.increment();
+            throw ex;
+        }
+        sample.stop(sendTimer("single", "SUCCESS"));
         log.info("Email sent to '{}'. Subject: '{}'", to, subject);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Map<Integer, Exception> sendMessages(List<SimpleMailMessage> messages) {
+        Map<Integer, Exception> failed = new HashMap<>();
+        for (int from = 0; from < messages.size(); from += batchSize) {
+            sendBatch(messages, from, Math.min(from + batchSize, messages.size()), failed);
+        }
+        return failed;
+    }
+
+    private void sendBatch(List<SimpleMailMessage> messages, int from, int to, Map<Integer, Exception> failed) {
+        List<SimpleMailMessage> batch = messages.subList(from, to);
+        int failedBefore = failed.size();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            javaMailSender.send(batch.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException ex) {
+            if (ex.getFailedMessages().isEmpty()) {
+                markAll(from, to, ex, failed);
+            }
+            // The sender keys its failures by message equality, so identical messages in one batch
+            // collapse into a single entry: every position equal to a failed message is reported.
+            ex.getFailedMessages().forEach((message, cause) -> {
+                for (int i = from; i < to; i++) {
+                    if (messages.get(i).equals(message)) {
+                        failed.put(i, cause);
+                    }
+                }
+            });
+        } catch (MailException ex) {
+            markAll(from, to, ex, failed);
+        }
+        int batchFailures = failed.size() - failedBefore;
+        sample.stop(sendTimer("batch", batchFailures == 0 ? "SUCCESS" : "ERROR"));
+        batchFailed.increment(batchFailures);
+        log.info("Email batch sent: {} messages, {} failed", batch.size(), batchFailures);
+    }
+
+    private static void markAll(int from, int to, Exception ex, Map<Integer, Exception> failed) {
+        for (int i = from; i < to; i++) {
+            failed.put(i, ex);
+        }
+    }
+
+    /**
+     * One sample per SMTP round trip: a single message or a whole batch.
+     */
+    private Timer sendTimer(String mode, String outcome) {
+        return Timer
+                .builder(SEND_METRIC)
+                .description("SMTP send latency")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter failedCounter(String mode) {
+        return Counter
+                .builder(FAILED_METRIC)
+                .description("Messages the mail server did not accept")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+}
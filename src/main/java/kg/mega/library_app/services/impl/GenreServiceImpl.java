@@ -1,17 +1,21 @@
 package kg.mega.library_app.services.impl;
 
+import kg.mega.library_app.common.EntityIdCache;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.DuplicateException;
 import kg.mega.library_app.dao.GenreRepo;
 import kg.mega.library_app.models.dto.requests.GenreReq;
 import kg.mega.library_app.models.entities.Genre;
 import kg.mega.library_app.services.GenreService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.postgresql.util.PSQLException;
 import org.postgresql.util.PSQLState;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
 
 @Slf4j
@@ -19,27 +23,49 @@ import java.util.List;
 @Service
 public class GenreServiceImpl implements GenreService {
     private final GenreRepo genreRepo;
+    private final EntityIdCache<String> genreIds;
 
     @Autowired
-    public GenreServiceImpl(GenreRepo genreRepo) {
+    public GenreServiceImpl(GenreRepo genreRepo,
+                            MeterRegistry meterRegistry,
+                            @Value("${library.cache.dictionary.max-size:10000}") long maxSize,
+                            @Value("${library.cache.dictionary.ttl-minutes:30}") long ttlMinutes) {
         this.genreRepo = genreRepo;
+        this.genreIds = new EntityIdCache<>("genreIds", meterRegistry, maxSize, Duration.ofMinutes(ttlMinutes));
     }
 
     @Override
     public Genre getByTitle(String title) {
-        return genreRepo.findByTitle(title);
+        if (title == null) {
+            return null;
+        }
+        Long id = genreIds.get(title);
+        if (id != null) {
+            return Genre
+                    .builder()
+                    .id(id)
+                    .title(title)
+                    .build();
+        }
+        Genre genre = genreRepo.findByTitle(title);
+        if (genre != null) {
+            genreIds.put(title, genre.getId());
+        }
+        return genre;
     }
 
     @Override
     public Genre createGenre(GenreReq genreReq) throws DuplicateException {
-        if (genreRepo.findByTitle(genreReq.getTitle()) != null) {
+        if (getByTitle(genreReq.getTitle()) != null) {
             throw new DuplicateException("Genre: " + genreReq.getTitle() + " already exist!");
         }
-        return genreRepo.save(Genre
+        Genre genre = genreRepo.save(Genre
                 .builder()
                 .title(genreReq.getTitle())
                 .description(genreReq.getDescription())
                 .build());
+        genreIds.put(genre.getTitle(), genre.getId());
+        return genre;
     }
 
     @Override
@@ -47,9 +73,11 @@ public class GenreServiceImpl implements GenreService {
         Genre genre = genreRepo
                 .findById(id)
                 .orElseThrow(() -> new DataNotFoundException("Genre with id: " + id + " not found!"));
+        genreIds.evict(genre.getTitle());
         genre.setTitle(req.getTitle());
         genre.setDescription(req.getDescription());
         genreRepo.save(genre);
+        genreIds.evict(req.getTitle());
         log.info("Genre '{}' updated successfully.", genre.getTitle());
         return "Genre with id: " + id + " updated successfully!";
     }
@@ -62,6 +90,7 @@ public class GenreServiceImpl implements GenreService {
 
         try {
             genreRepo.delete(genre);
+            genreIds.evict(genre.getTitle());
             log.info("Genre with id: {} deleted successfully", id);
             return "Genre with id: " + id + " deleted successfully";
         } catch (Exception ex) {
@@ -1,6 +1,7 @@
 package kg.mega.library_app.services.impl;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import kg.mega.library_app.services.JwtService;
@@ -20,6 +21,12 @@ import static io.jsonwebtoken.io.Decoders.BASE64;
 public class JwtServiceImpl implements JwtService {
     private static final String SECRET_KEY = "6250655368566D597133743677397A244226452948404D635166546A576E5A72";
 
+    private final Key signInKey = Keys.hmacShaKeyFor(BASE64.decode(SECRET_KEY));
+    private final JwtParser jwtParser = Jwts
+            .parserBuilder()
+            .setSigningKey(signInKey)
+            .build();
+
     @Override
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -44,35 +51,35 @@ public class JwtServiceImpl implements JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 600 * 24))
-                .signWith(getSignInKey(), HS256)
+                .signWith(signInKey, HS256)
                 .compact();
     }
 
     @Override
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(validateToken(token), userDetails);
+    }
+
+    @Override
+    public Claims validateToken(String token) {
+        return extractAllClaims(token);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExtraction(token).before(new Date());
+    @Override
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.isEnabled()
+                && claims.getSubject() != null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && !isTokenExpired(claims);
     }
 
-    private Date extractExtraction(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-}
\ No newline at end of file
+}
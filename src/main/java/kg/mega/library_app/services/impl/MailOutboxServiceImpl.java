@@ -0,0 +1,155 @@
+package kg.mega.library_app.services.impl;
+
+import kg.mega.library_app.dao.MailOutboxRepo;
+import kg.mega.library_app.models.entities.MailOutbox;
+import kg.mega.library_app.services.EmailService;
+import kg.mega.library_app.services.MailOutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import static kg.mega.library_app.models.constants.MailStatus.*;
+
+@Slf4j
+
+@Service
+public class MailOutboxServiceImpl implements MailOutboxService {
+    private final MailOutboxRepo mailOutboxRepo;
+    private final EmailService emailService;
+    private final Executor mailDispatchExecutor;
+    private final int batchSize;
+    private final int sendBatchSize;
+    private final int maxAttempts;
+    private final long backoffSeconds;
+    private final long leaseSeconds;
+
+    @Autowired
+    public MailOutboxServiceImpl(MailOutboxRepo mailOutboxRepo,
+                                 EmailService emailService,
+                                 @Qualifier("mailDispatchExecutor") Executor mailDispatchExecutor,
+                                 @Value("${library.mail.outbox.batch-size:100}") int batchSize,
+                                 @Value("${library.mail.batch-size:50}") int sendBatchSize,
+                                 @Value("${library.mail.outbox.max-attempts:5}") int maxAttempts,
+                                 @Value("${library.mail.outbox.backoff-seconds:30}") long backoffSeconds,
+                                 @Value("${library.mail.outbox.lease-seconds:300}") long leaseSeconds) {
+        this.mailOutboxRepo = mailOutboxRepo;
+        this.emailService = emailService;
+        this.mailDispatchExecutor = mailDispatchExecutor;
+        this.batchSize = batchSize;
+        this.sendBatchSize = sendBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffSeconds = backoffSeconds;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(String to, String subject, String text) {
+        mailOutboxRepo.save(MailOutbox
+                .builder()
+                .recipient(to)
+                .subject(subject)
+                .body(text)
+                .status(PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.info("Email to '{}' queued. Subject: '{}'", to, subject);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${library.mail.outbox.poll-delay:5000}")
+    public int dispatchPending() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> due = mailOutboxRepo.findDueIds(PENDING, now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        // One conditional UPDATE claims the whole batch; rows another instance claimed first keep their token.
+        String claimToken = UUID.randomUUID().toString();
+        if (mailOutboxRepo.claim(due, PENDING, SENDING, now, claimToken) == 0) {
+            return 0;
+        }
+        List<MailOutbox> batch = mailOutboxRepo.findClaimed(claimToken);
+        for (int from = 0; from < batch.size(); from += sendBatchSize) {
+            List<MailOutbox> part = new ArrayList<>(batch.subList(from, Math.min(from + sendBatchSize, batch.size())));
+            mailDispatchExecutor.execute(() -> send(part));
+        }
+        return batch.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${library.mail.outbox.lease-check-delay:60000}")
+    public void releaseInterruptedMails() {
+        int released = mailOutboxRepo.releaseClaimedBefore(SENDING, PENDING, LocalDateTime.now().minusSeconds(leaseSeconds));
+        if (released > 0) {
+            log.info("{} interrupted emails returned to the outbox", released);
+        }
+    }
+
+    private void send(List<MailOutbox> mails) {
+        List<SimpleMailMessage> messages = new ArrayList<>(mails.size());
+        for (MailOutbox mail : mails) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(mail.getRecipient());
+            message.setSubject(mail.getSubject());
+            message.setText(mail.getBody());
+            messages.add(message);
+        }
+
+        Map<Integer, Exception> failed;
+        try {
+            failed = emailService.sendMessages(messages);
+        } catch (RuntimeException ex) {
+            failed = new HashMap<>();
+            for (int i = 0; i < mails.size(); i++) {
+                failed.put(i, ex);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < mails.size(); i++) {
+            MailOutbox mail = mails.get(i);
+            Exception ex = failed.get(i);
+            mail.setClaimedAt(null);
+            mail.setClaimToken(null);
+            if (ex == null) {
+                mail.setStatus(SENT);
+                mail.setSentAt(now);
+            } else {
+                scheduleRetry(mail, ex, now);
+            }
+        }
+        mailOutboxRepo.saveAll(mails);
+    }
+
+    private void scheduleRetry(MailOutbox mail, Exception ex, LocalDateTime now) {
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        mail.setLastError(ex.getMessage());
+        if (attempts >= maxAttempts) {
+            mail.setStatus(FAILED);
+            log.error("Email with id: {} to '{}' failed after {} attempts", mail.getId(), mail.getRecipient(), attempts);
+        } else {
+            mail.setStatus(PENDING);
+            mail.setNextAttemptAt(now.plusSeconds(backoffSeconds << (attempts - 1)));
+            log.warn("Email with id: {} to '{}' failed, retry #{} scheduled", mail.getId(), mail.getRecipient(), attempts);
+        }
+    }
+}
@@ -1,31 +1,45 @@
 package kg.mega.library_app.services.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kg.mega.library_app.common.CursorCodec;
+import kg.mega.library_app.common.CursorPages;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
 import kg.mega.library_app.dao.OrderHistoryRepo;
 import kg.mega.library_app.models.constants.OrderStatus;
+import kg.mega.library_app.models.dto.projections.OrderHistoryView;
+import kg.mega.library_app.models.dto.requests.OrderHistoryFilterReq;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
 import kg.mega.library_app.models.dto.responses.OrderHistoryResp;
 import kg.mega.library_app.models.dto.responses.UserOrderHistoryResp;
 import kg.mega.library_app.models.entities.Order;
 import kg.mega.library_app.models.entities.OrderHistory;
-import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
 import kg.mega.library_app.services.OrderHistoryService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static kg.mega.library_app.common.JsonStreams.writeArray;
+
 @Slf4j
 
 @Service
 public class OrderHistoryServiceImpl implements OrderHistoryService {
     private final OrderHistoryRepo orderHistoryRepo;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public OrderHistoryServiceImpl(OrderHistoryRepo orderHistoryRepo) {
+    public OrderHistoryServiceImpl(OrderHistoryRepo orderHistoryRepo, ObjectMapper objectMapper) {
         this.orderHistoryRepo = orderHistoryRepo;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -49,18 +63,24 @@ public class OrderHistoryServiceImpl implements OrderHistoryService {
     }
 
     @Override
-    public List<OrderHistoryResp> getAllOrderHistory() {
-        return orderHistoryRepo.findAll()
-                .stream()
-                .map(orderHistory -> new OrderHistoryResp(orderHistory.getOrder().getId(),
-                        orderHistory.getStatus(),
-                        orderHistory.getActionDate()))
-                .collect(Collectors.toList());
+    public CursorPageResp<OrderHistoryResp> getOrderHistory(OrderHistoryFilterReq filter, String after, Integer size) throws InvalidCursorException {
+        int limit = CursorPages.limit(size);
+        List<OrderHistoryView> views = orderHistoryRepo.findViewsAfter(CursorCodec.decode(after), filter, limit + 1);
+        return CursorPages.page(views, limit, OrderHistoryView::getId, rows -> rows.stream()
+                .map(view -> new OrderHistoryResp(view.getOrderId(), view.getStatus(), view.getActionDate()))
+                .toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllOrderHistory(OutputStream out) throws IOException {
+        long written = writeArray(objectMapper, orderHistoryRepo.streamAllResps(), out);
+        log.info("Streamed {} order history records.", written);
     }
 
     @Override
     public List<UserOrderHistoryResp> getUserHistory() {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         return orderHistoryRepo.findAllByUserId(user.getId())
                 .stream()
                 .map(orderHistory -> new UserOrderHistoryResp(
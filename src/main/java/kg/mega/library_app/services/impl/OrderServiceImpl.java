@@ -1,25 +1,40 @@
 package kg.mega.library_app.services.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kg.mega.library_app.common.CursorCodec;
+import kg.mega.library_app.common.CursorPages;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.InadmissibleEditingException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
 import kg.mega.library_app.dao.OrderRepo;
+import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.models.dto.projections.OrderView;
+import kg.mega.library_app.models.dto.projections.OverdueOrderView;
+import kg.mega.library_app.models.dto.requests.OrderFilterReq;
 import kg.mega.library_app.models.dto.requests.OrderReq;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
 import kg.mega.library_app.models.dto.responses.OrderResp;
 import kg.mega.library_app.models.entities.Book;
 import kg.mega.library_app.models.entities.Order;
-import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
 import kg.mega.library_app.services.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static kg.mega.library_app.common.JsonStreams.writeArray;
 import static kg.mega.library_app.models.constants.OrderStatus.RETURNING;
 import static kg.mega.library_app.models.constants.OrderStatus.TAKING;
 
@@ -29,31 +44,46 @@ import static kg.mega.library_app.models.constants.OrderStatus.TAKING;
 public class OrderServiceImpl implements OrderService {
     private final OrderRepo orderRepo;
     private final OrderHistoryService orderHistoryService;
+    private final UserRepo userRepo;
     private final BookService bookService;
     private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int reminderDays;
+    private final int reminderChunkSize;
 
     @Autowired
-    public OrderServiceImpl(OrderRepo orderRepo, OrderHistoryService orderHistoryService, BookService bookService, NotificationService notificationService) {
+    public OrderServiceImpl(OrderRepo orderRepo,
+                            OrderHistoryService orderHistoryService,
+                            UserRepo userRepo,
+                            BookService bookService,
+                            NotificationService notificationService,
+                            TransactionTemplate transactionTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${library.overdue.reminder-days:3}") int reminderDays,
+                            @Value("${library.overdue.chunk-size:500}") int reminderChunkSize) {
         this.orderRepo = orderRepo;
         this.orderHistoryService = orderHistoryService;
+        this.userRepo = userRepo;
         this.bookService = bookService;
         this.notificationService = notificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.reminderDays = reminderDays;
+        this.reminderChunkSize = reminderChunkSize;
     }
 
+    // The order and history rows are inserted first and the conditional stock update runs last, so the book row
+    // is locked for a single statement before commit and any failure rolls the whole take back.
     @Override
+    @Transactional(rollbackFor = DataNotFoundException.class)
     public OrderResp takeBook(OrderReq req) throws DataNotFoundException {
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         Book book = bookService.getById(req.getBookId());
 
-        if (book.getQuantity() <= 0) {
-            throw new DataNotFoundException("Book is not available!");
-        }
-
-        book.setQuantity(book.getQuantity() - 1);
-        bookService.saveBook(book);
-
         Order order = Order
                 .builder()
-                .user((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .user(userRepo.getReferenceById(user.getId()))
                 .book(book)
                 .orderDate(LocalDate.now())
                 .returnDueDate(req.getReturnDueDate())
@@ -62,19 +92,24 @@ public class OrderServiceImpl implements OrderService {
         orderRepo.save(order);
         orderHistoryService.createOrderHistory(order, TAKING);
 
-        log.info("Book '{}' taken by user '{}'", book.getTitle(), order.getUser().getUsername());
+        if (!bookService.decrementQuantity(book.getId())) {
+            throw new DataNotFoundException("Book is not available!");
+        }
+
+        log.info("Book '{}' taken by user '{}'", book.getTitle(), user.getUsername());
 
         return OrderResp
                 .builder()
-                .userEmail(order.getUser().getEmail())
+                .userEmail(user.getEmail())
                 .bookTitle(order.getBook().getTitle())
                 .orderDate(order.getOrderDate())
                 .build();
     }
 
     @Override
+    @Transactional(rollbackFor = DataNotFoundException.class)
     public OrderResp returnBook(Long orderId) throws InadmissibleEditingException, DataNotFoundException {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         Order order = orderRepo
                 .findById(orderId)
                 .orElseThrow(() -> new DataNotFoundException("Order with id " + orderId + " not found!"));
@@ -83,13 +118,13 @@ public class OrderServiceImpl implements OrderService {
             throw new InadmissibleEditingException("That's not your order!");
         }
 
-        Book book = order.getBook();
-        book.setQuantity(book.getQuantity() + 1);
-        bookService.saveBook(book);
-
-        order.setActualReturnDate(LocalDate.now());
-        orderRepo.save(order);
         orderHistoryService.createOrderHistory(order, RETURNING);
+        if (orderRepo.markReturned(orderId, LocalDate.now()) == 0) {
+            throw new InadmissibleEditingException("Book has already been returned!");
+        }
+
+        Book book = order.getBook();
+        bookService.incrementQuantity(book.getId());
 
         log.info("Book '{}' returned by user '{}'", book.getTitle(), order.getUser().getUsername());
 
@@ -102,27 +137,45 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public List<OrderResp> getAllOrders() {
-        return orderRepo.findAll()
-                .stream()
-                .map(order -> new OrderResp(order.getUser().getEmail(),
-                        order.getBook().getTitle(),
-                        order.getOrderDate()))
-                .collect(Collectors.toList());
+    public CursorPageResp<OrderResp> getOrders(OrderFilterReq filter, String after, Integer size) throws InvalidCursorException {
+        int limit = CursorPages.limit(size);
+        List<OrderView> views = orderRepo.findViewsAfter(CursorCodec.decode(after), filter, limit + 1);
+        return CursorPages.page(views, limit, OrderView::getId, rows -> rows.stream()
+                .map(view -> new OrderResp(view.getUserEmail(), view.getBookTitle(), view.getOrderDate()))
+                .toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllOrders(OutputStream out) throws IOException {
+        long written = writeArray(objectMapper, orderRepo.streamAllResps(), out);
+        log.info("Streamed {} orders.", written);
     }
 
-    //    @Scheduled(cron = "0 0 0 * * ?") // Каждый день в 00:00
-    @Scheduled(cron = "*/10 * * * * *") // Каждые 10 секунд
+    @Scheduled(cron = "${library.overdue.cron:0 0 * * * *}")
     public void checkOverdueBooks() {
-        List<Order> orders = orderRepo.findAll();
-        for (Order order : orders) {
-            if (order.getActualReturnDate() == null) {
-                long daysDifference = ChronoUnit.DAYS.between(LocalDate.now(), order.getReturnDueDate());
-                if (daysDifference <= 3) {
-                    notificationService.sendOverdueNotification(order.getUser().getEmail(), order.getBook().getTitle());
-                    log.info("Sending overdue notification for order: {}", order.getId());
-                }
+        LocalDate today = LocalDate.now();
+        LocalDate dueBefore = today.plusDays(reminderDays);
+        long lastId = 0L;
+        List<OverdueOrderView> chunk;
+        do {
+            chunk = orderRepo.findOrdersToRemind(dueBefore, lastId, PageRequest.of(0, reminderChunkSize));
+            if (!chunk.isEmpty()) {
+                List<OverdueOrderView> current = chunk;
+                transactionTemplate.executeWithoutResult(status -> remind(current, today));
+                lastId = chunk.get(chunk.size() - 1).getOrderId();
             }
+        } while (chunk.size() == reminderChunkSize);
+    }
+
+    private void remind(List<OverdueOrderView> views, LocalDate today) {
+        for (OverdueOrderView view : views) {
+            notificationService.sendOverdueNotification(view.getUserEmail(), view.getBookTitle());
+            log.info("Sending overdue notification for order: {}", view.getOrderId());
         }
+        orderRepo.markReminded(views
+                .stream()
+                .map(OverdueOrderView::getOrderId)
+                .collect(Collectors.toList()), today);
     }
-}
\ No newline at end of file
+}
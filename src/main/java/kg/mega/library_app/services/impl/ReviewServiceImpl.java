@@ -1,62 +1,87 @@
 package kg.mega.library_app.services.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kg.mega.library_app.common.CursorCodec;
+import kg.mega.library_app.common.CursorPages;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.InadmissibleEditingException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
 import kg.mega.library_app.dao.ReviewRepo;
+import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.models.dto.projections.ReviewView;
+import kg.mega.library_app.models.dto.requests.ReviewFilterReq;
 import kg.mega.library_app.models.dto.requests.ReviewReq;
 import kg.mega.library_app.models.dto.requests.ReviewUpdateReq;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
 import kg.mega.library_app.models.dto.responses.ReviewResp;
 import kg.mega.library_app.models.entities.Review;
-import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
 import kg.mega.library_app.services.BookService;
 import kg.mega.library_app.services.ReviewService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static kg.mega.library_app.common.JsonStreams.writeArray;
+
 @Slf4j
 
 @Service
 public class ReviewServiceImpl implements ReviewService {
     private final ReviewRepo reviewRepo;
     private final BookService bookService;
+    private final UserRepo userRepo;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ReviewServiceImpl(ReviewRepo reviewRepo, BookService bookService) {
+    public ReviewServiceImpl(ReviewRepo reviewRepo, BookService bookService, UserRepo userRepo, ObjectMapper objectMapper) {
         this.reviewRepo = reviewRepo;
         this.bookService = bookService;
+        this.userRepo = userRepo;
+        this.objectMapper = objectMapper;
     }
 
     @Override
     public ReviewResp createReview(ReviewReq req) throws DataNotFoundException {
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         Review review = Review
                 .builder()
                 .comment(req.getComment())
                 .book(bookService.getById(req.getBookId()))
-                .user((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .user(userRepo.getReferenceById(user.getId()))
                 .build();
         reviewRepo.save(review);
-        String userFirstname = review.getUser().getFirstname();
+        String userFirstname = user.getFirstname();
         log.info(userFirstname + "'s comment is successfully saved!");
-        return new ReviewResp(review.getComment(), userFirstname, review.getUser().getLastname());
+        return new ReviewResp(review.getComment(), userFirstname, user.getLastname());
     }
 
     @Override
-    public List<ReviewResp> getAllReview() {
-        return reviewRepo.findAll()
-                .stream()
-                .map(review -> new ReviewResp(review.getComment(),
-                        review.getUser().getFirstname(), review.getUser().getLastname()))
-                .collect(Collectors.toList());
+    public CursorPageResp<ReviewResp> getReviews(ReviewFilterReq filter, String after, Integer size) throws InvalidCursorException {
+        int limit = CursorPages.limit(size);
+        List<ReviewView> views = reviewRepo.findViewsAfter(CursorCodec.decode(after), filter, limit + 1);
+        return CursorPages.page(views, limit, ReviewView::getId, rows -> rows.stream()
+                .map(view -> new ReviewResp(view.getComment(), view.getUserFirstname(), view.getUserLastname()))
+                .toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllReviews(OutputStream out) throws IOException {
+        long written = writeArray(objectMapper, reviewRepo.streamAllResps(), out);
+        log.info("Streamed {} reviews.", written);
     }
 
     @Override
     public ReviewResp updateReview(Long id, ReviewUpdateReq req) throws DataNotFoundException, InadmissibleEditingException {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
         Review review = reviewRepo
                 .findById(id)
@@ -75,7 +100,7 @@ public class ReviewServiceImpl implements ReviewService {
 
     @Override
     public String deleteReview(Long id) throws DataNotFoundException, InadmissibleEditingException {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
         Review review = reviewRepo
                 .findById(id)
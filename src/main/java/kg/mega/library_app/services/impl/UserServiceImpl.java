@@ -1,34 +1,50 @@
 package kg.mega.library_app.services.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kg.mega.library_app.common.CursorCodec;
+import kg.mega.library_app.common.CursorPages;
+import kg.mega.library_app.common.TransactionHooks;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.DuplicateException;
 import kg.mega.library_app.common.exceptions.InadmissibleEditingException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
 import kg.mega.library_app.dao.UserRepo;
 import kg.mega.library_app.dao.VerificationTokenRepo;
+import kg.mega.library_app.events.RegistrationCompleteEvent;
+import kg.mega.library_app.models.dto.projections.UserView;
 import kg.mega.library_app.models.dto.requests.AuthenticationReq;
 import kg.mega.library_app.models.dto.requests.RegistrationReq;
+import kg.mega.library_app.models.dto.requests.UserFilterReq;
 import kg.mega.library_app.models.dto.responses.AuthenticationResp;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
 import kg.mega.library_app.models.dto.responses.RegistrationInterimResp;
 import kg.mega.library_app.models.dto.responses.UserResp;
 import kg.mega.library_app.models.entities.Book;
 import kg.mega.library_app.models.entities.User;
 import kg.mega.library_app.models.entities.VerificationToken;
+import kg.mega.library_app.security.AuthenticatedUser;
+import kg.mega.library_app.security.VerifiedTokenCache;
 import kg.mega.library_app.services.BookService;
 import kg.mega.library_app.services.JwtService;
 import kg.mega.library_app.services.NotificationService;
 import kg.mega.library_app.services.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Calendar;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
+import static kg.mega.library_app.common.JsonStreams.writeArray;
 import static kg.mega.library_app.models.constants.Role.ROLE_ADMIN;
 import static kg.mega.library_app.models.constants.Role.ROLE_USER;
 
@@ -43,10 +59,12 @@ public class UserServiceImpl implements UserService {
     private final VerificationTokenRepo verificationTokenRepo;
     private final NotificationService notificationService;
     private final BookService bookService;
-
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher publisher;
 
     @Autowired
-    public UserServiceImpl(UserRepo userRepo, PasswordEncoder passwordEncoder, JwtService jwtService, AuthenticationManager authenticationManager, VerificationTokenRepo verificationTokenRepo, NotificationService notificationService, BookService bookService) {
+    public UserServiceImpl(UserRepo userRepo, PasswordEncoder passwordEncoder, JwtService jwtService, AuthenticationManager authenticationManager, VerificationTokenRepo verificationTokenRepo, NotificationService notificationService, BookService bookService, VerifiedTokenCache verifiedTokenCache, ObjectMapper objectMapper, ApplicationEventPublisher publisher) {
         this.userRepo = userRepo;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
@@ -54,10 +72,14 @@ public class UserServiceImpl implements UserService {
         this.verificationTokenRepo = verificationTokenRepo;
         this.notificationService = notificationService;
         this.bookService = bookService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.objectMapper = objectMapper;
+        this.publisher = publisher;
     }
 
     @Override
-    public RegistrationInterimResp register(RegistrationReq req) throws DuplicateException {
+    @Transactional
+    public RegistrationInterimResp register(RegistrationReq req, String applicationUrl) throws DuplicateException {
         if (userRepo.findByEmail(req.getEmail()).isPresent()) {
             throw new DuplicateException("User with email: " + req.getEmail() + " already exist!");
         }
@@ -72,9 +94,11 @@ public class UserServiceImpl implements UserService {
                 .role(ROLE_USER)
                 .build();
         userRepo.save(user);
-        String jwtToken = jwtService.generateToken(user);
+        String verificationToken = UUID.randomUUID().toString();
+        saveUserVerificationToken(user, verificationToken);
+        publisher.publishEvent(new RegistrationCompleteEvent(user, applicationUrl, verificationToken));
         log.info("User registered: {}", user.getEmail());
-        return new RegistrationInterimResp(jwtToken, user);
+        return new RegistrationInterimResp(user);
     }
 
     @Override
@@ -92,21 +116,30 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserResp> getAllUsers() {
-        return userRepo.findAll()
-                .stream()
-                .map(user -> new UserResp(user.getFirstname(),
-                        user.getLastname(),
-                        user.getPhoneNumber(),
-                        user.isActive(),
-                        user.getEmail(),
-                        user.getRole()))
-                .collect(Collectors.toList());
+    public CursorPageResp<UserResp> getUsers(UserFilterReq filter, String after, Integer size) throws InvalidCursorException {
+        int limit = CursorPages.limit(size);
+        List<UserView> views = userRepo.findViewsAfter(CursorCodec.decode(after), filter, limit + 1);
+        return CursorPages.page(views, limit, UserView::getId, rows -> rows.stream()
+                .map(view -> new UserResp(view.getFirstname(),
+                        view.getLastname(),
+                        view.getPhoneNumber(),
+                        view.isActive(),
+                        view.getEmail(),
+                        view.getRole()))
+                .toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void writeAllUsers(OutputStream out) throws IOException {
+        long written = writeArray(objectMapper, userRepo.streamAllResps(), out);
+        log.info("Streamed {} users.", written);
+    }
+
+    @Override
+    @Transactional
     public String blockUser(Long id) throws DataNotFoundException {
-        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        AuthenticatedUser currentUser = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
         User user = userRepo.findById(id)
                 .orElseThrow(() -> new DataNotFoundException("User with id: " + id + " not found!"));
@@ -127,13 +160,16 @@ public class UserServiceImpl implements UserService {
         user.setActive(!isActive);
         log.info("{} user with id = {}; email: {}", isActive ? "Unblock" : "Block", user.getId(), user.getEmail());
         userRepo.save(user);
+        String email = user.getEmail();
+        TransactionHooks.afterCommit(() -> verifiedTokenCache.evictUser(email));
 
         return "User with id: " + id + " is " + (isActive ? "blocked" : "unblocked");
     }
 
     @Override
+    @Transactional
     public String editUserRole(Long id) throws DataNotFoundException, InadmissibleEditingException {
-        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        AuthenticatedUser currentUser = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
         User user = userRepo.findById(id)
                 .orElseThrow(() -> new DataNotFoundException("User with id: " + id + " not found!"));
@@ -143,7 +179,7 @@ public class UserServiceImpl implements UserService {
         }
 
         if (user.getAdminCreatedBy() == null) {
-            user.setAdminCreatedBy(currentUser);
+            user.setAdminCreatedBy(userRepo.getReferenceById(currentUser.getId()));
         }
 
         if (!user.getAdminCreatedBy().getEmail().equals(currentUser.getEmail())) {
@@ -153,6 +189,8 @@ public class UserServiceImpl implements UserService {
         user.setRole(user.getRole() == ROLE_USER ? ROLE_ADMIN : ROLE_USER);
 
         userRepo.save(user);
+        String email = user.getEmail();
+        TransactionHooks.afterCommit(() -> verifiedTokenCache.evictUser(email));
         log.info("User with id = {}; email: {} has role changed", user.getId(), user.getEmail());
 
         return "User with id: " + id + " has role changed to " + user.getRole();
@@ -182,8 +220,9 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public String addToFavorites(Long bookId) throws DataNotFoundException, DuplicateException {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        User user = getCurrentUser();
         Book book = bookService.getById(bookId);
 
         if (user.getFavorites().contains(book)) {
@@ -198,8 +237,9 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public String removeFromFavorites(Long bookId) {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    @Transactional
+    public String removeFromFavorites(Long bookId) throws DataNotFoundException {
+        User user = getCurrentUser();
 
         user.getFavorites().removeIf(b -> b.getId().equals(bookId));
         userRepo.save(user);
@@ -207,4 +247,10 @@ public class UserServiceImpl implements UserService {
         log.info("Book with ID {} removed from favorites for user with ID {}", bookId, user.getId());
         return "Book removed from favorites successfully";
     }
-}
\ No newline at end of file
+
+    private User getCurrentUser() throws DataNotFoundException {
+        AuthenticatedUser principal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return userRepo.findById(principal.getId())
+                .orElseThrow(() -> new DataNotFoundException("User with id: " + principal.getId() + " not found!"));
+    }
+}
@@ -0,0 +1,110 @@
+package kg.mega.library_app.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogVersionTest {
+    private CatalogVersion catalogVersion;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new CatalogVersion(60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testChangesInsideTransactionBumpVersionOnceAfterCommit() {
+        String initial = catalogVersion.booksTag();
+        TransactionSynchronizationManager.initSynchronization();
+
+        catalogVersion.booksChanged();
+        catalogVersion.booksChanged();
+        catalogVersion.reviewsChanged(1L);
+        assertEquals(initial, catalogVersion.booksTag());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        String committed = catalogVersion.booksTag();
+        assertNotEquals(initial, committed);
+        assertEquals(initial.substring(0, initial.indexOf('-')) + "-1", committed);
+        assertNotEquals(catalogVersion.reviewsTag(2L), catalogVersion.reviewsTag(1L));
+    }
+
+    @Test
+    void testRolledBackChangesKeepVersion() {
+        String initial = catalogVersion.booksTag();
+        TransactionSynchronizationManager.initSynchronization();
+
+        catalogVersion.booksChanged();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(initial, catalogVersion.booksTag());
+    }
+
+    @Test
+    void testReviewersChangeInvalidatesEveryBookReviews() {
+        String first = catalogVersion.reviewsTag(1L);
+        String second = catalogVersion.reviewsTag(2L);
+
+        catalogVersion.reviewersChanged();
+
+        assertNotEquals(first, catalogVersion.reviewsTag(1L));
+        assertNotEquals(second, catalogVersion.reviewsTag(2L));
+    }
+
+    @Test
+    void testWithETagAnswersMatchingTagWithoutBuildingBody() {
+        String etag = catalogVersion.booksTag();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books/all");
+        request.addHeader("If-None-Match", "\"" + etag + "\"");
+
+        ResponseEntity<?> response = ConditionalResponses.withETag(
+                new ServletWebRequest(request, new MockHttpServletResponse()),
+                etag,
+                catalogVersion.publicCacheControl(),
+                () -> fail("The body must not be built for a matching tag"));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"" + etag + "\"", response.getHeaders().getETag());
+        assertEquals("max-age=0, must-revalidate, public, s-maxage=60", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testWithETagBuildsBodyForStaleTag() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books/all");
+        request.addHeader("If-None-Match", "\"stale\"");
+
+        ResponseEntity<?> response = ConditionalResponses.withETag(
+                new ServletWebRequest(request, new MockHttpServletResponse()),
+                catalogVersion.booksTag(),
+                catalogVersion.privateCacheControl(),
+                () -> List.of("book"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("book"), response.getBody());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+}
@@ -0,0 +1,76 @@
+package kg.mega.library_app.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatisticsFilterTest {
+    private SimpleMeterRegistry meterRegistry;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest("GET", "/books/by_author_id/7");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void testRecordsStatementsPerEndpoint() throws Exception {
+        new SqlStatisticsFilter(meterRegistry, 50, 500, false).doFilter(request, response, (req, res) -> {
+            runStatements(3);
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/books/by_author_id/{id}");
+        });
+
+        assertEquals(3.0, meterRegistry.get("library.http.sql.statements")
+                .tag("method", "GET")
+                .tag("uri", "/books/by_author_id/{id}")
+                .summary()
+                .totalAmount());
+        assertEquals(1, meterRegistry.get("library.http.sql.time").tag("uri", "/books/by_author_id/{id}").timer().count());
+        assertNull(response.getHeader(SqlStatisticsFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void testDebugHeadersReflectStatementsRunBeforeCommit() throws Exception {
+        new SqlStatisticsFilter(meterRegistry, 50, 500, true).doFilter(request, response, (req, res) -> {
+            runStatements(2);
+            res.getWriter().write("[]");
+            res.flushBuffer();
+            runStatements(1);
+        });
+
+        assertEquals("2", response.getHeader(SqlStatisticsFilter.STATEMENTS_HEADER));
+        assertNotNull(response.getHeader(SqlStatisticsFilter.TIME_HEADER));
+    }
+
+    @Test
+    void testDebugHeadersOnUncommittedResponse() throws Exception {
+        new SqlStatisticsFilter(meterRegistry, 50, 500, true).doFilter(request, response, (req, res) -> runStatements(4));
+
+        assertEquals("4", response.getHeader(SqlStatisticsFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void testStatementsOutsideARequestAreIgnored() {
+        runStatements(5);
+
+        SqlStatistics statistics = SqlStatistics.start();
+        SqlStatistics.stop();
+        assertEquals(0, statistics.getStatements());
+    }
+
+    private static void runStatements(int count) {
+        SqlStatisticsListener listener = new SqlStatisticsListener();
+        for (int i = 0; i < count; i++) {
+            listener.jdbcExecuteStatementStart();
+            listener.jdbcExecuteStatementEnd();
+        }
+    }
+}
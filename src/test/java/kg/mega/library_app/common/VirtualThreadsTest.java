@@ -0,0 +1,34 @@
+package kg.mega.library_app.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+    @Test
+    void testFactoryCreatesNamedVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+
+        ThreadFactory factory = VirtualThreads.factory("test-");
+        Thread first = factory.newThread(() -> {
+        });
+        Thread second = factory.newThread(() -> {
+        });
+
+        assertEquals("test-0", first.getName());
+        assertEquals("test-1", second.getName());
+        assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(first));
+    }
+
+    @Test
+    void testFactoryFailsFastBeforeJava21() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> VirtualThreads.factory("test-"));
+        assertTrue(ex.getMessage().contains("Java 21"));
+    }
+}
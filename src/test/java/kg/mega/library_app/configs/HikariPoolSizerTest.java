@@ -0,0 +1,37 @@
+package kg.mega.library_app.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HikariPoolSizerTest {
+
+    @Test
+    void testSizesFixedPoolFromCoreCount() {
+        HikariDataSource dataSource = new HikariDataSource();
+
+        new HikariPoolSizer(0).postProcessAfterInitialization(dataSource, "dataSource");
+
+        int expected = Runtime.getRuntime().availableProcessors() * 2 + 1;
+        assertEquals(expected, dataSource.getMaximumPoolSize());
+        assertEquals(expected, dataSource.getMinimumIdle());
+    }
+
+    @Test
+    void testConfiguredSizeWins() {
+        HikariDataSource dataSource = new HikariDataSource();
+
+        new HikariPoolSizer(24).postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertEquals(24, dataSource.getMaximumPoolSize());
+        assertEquals(24, dataSource.getMinimumIdle());
+    }
+
+    @Test
+    void testLeavesOtherBeansAlone() {
+        Object bean = new Object();
+
+        assertSame(bean, new HikariPoolSizer(0).postProcessAfterInitialization(bean, "other"));
+    }
+}
@@ -0,0 +1,65 @@
+package kg.mega.library_app.configs;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kg.mega.library_app.services.EmailService;
+import kg.mega.library_app.services.impl.EmailServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class ServiceMetricsAspectTest {
+    private SimpleMeterRegistry meterRegistry;
+    private JavaMailSender javaMailSender;
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        javaMailSender = mock(JavaMailSender.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new EmailServiceImpl(javaMailSender, meterRegistry, 50));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        emailService = factory.getProxy();
+    }
+
+    @Test
+    void testTimesServiceMethodsByInterfaceAndMethod() {
+        emailService.sendMessage("a@example.com", "Subject", "Text");
+        emailService.sendMessage("b@example.com", "Subject", "Text");
+        emailService.sendMessages(List.of());
+
+        assertEquals(2, timer("sendMessage", "SUCCESS", "None").count());
+        assertEquals(1, timer("sendMessages", "SUCCESS", "None").count());
+    }
+
+    @Test
+    void testTagsFailuresWithTheExceptionType() {
+        doThrow(new MailSendException("Connection refused"))
+                .when(javaMailSender).send(any(SimpleMailMessage.class));
+
+        assertThrows(MailSendException.class, () -> emailService.sendMessage("a@example.com", "Subject", "Text"));
+
+        assertEquals(1, timer("sendMessage", "ERROR", "MailSendException").count());
+        assertNull(meterRegistry.find(ServiceMetricsAspect.METRIC).tag("outcome", "SUCCESS").timer());
+    }
+
+    private Timer timer(String method, String outcome, String exception) {
+        return meterRegistry.get(ServiceMetricsAspect.METRIC)
+                .tag("service", "EmailService")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .timer();
+    }
+}
@@ -0,0 +1,125 @@
+package kg.mega.library_app.controllers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kg.mega.library_app.common.CatalogVersion;
+import kg.mega.library_app.configs.ApplicationConfig;
+import kg.mega.library_app.configs.SecurityConfig;
+import kg.mega.library_app.controllers.v1.BookController;
+import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.security.VerifiedTokenCache;
+import kg.mega.library_app.services.BookExportService;
+import kg.mega.library_app.services.BookImportService;
+import kg.mega.library_app.services.BookSearchService;
+import kg.mega.library_app.services.BookService;
+import kg.mega.library_app.services.impl.JwtServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static kg.mega.library_app.models.constants.ExportFormat.CSV;
+import static kg.mega.library_app.models.constants.ExportFormat.NDJSON;
+import static kg.mega.library_app.models.constants.GenreMatch.CONTAINS;
+import static kg.mega.library_app.models.constants.GenreMatch.PREFIX;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookController.class)
+@Import({SecurityConfig.class, ApplicationConfig.class, JwtServiceImpl.class, VerifiedTokenCache.class, SimpleMeterRegistry.class})
+@WithMockUser(authorities = {"ROLE_USER", "ROLE_ADMIN"})
+class BookControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserRepo userRepo;
+
+    @MockBean
+    private BookService bookService;
+
+    @MockBean
+    private BookImportService bookImportService;
+
+    @MockBean
+    private BookExportService bookExportService;
+
+    @MockBean
+    private BookSearchService bookSearchService;
+
+    @MockBean
+    private CatalogVersion catalogVersion;
+
+    @Test
+    void testGetBooksByGenreTitleDefaultsToContains() throws Exception {
+        when(bookService.getBookRespByGenreTitle("sat", CONTAINS, 0, 20)).thenReturn(List.of());
+
+        mockMvc.perform(get("/books/by_genre_title/sat"))
+                .andExpect(status().isOk());
+
+        verify(bookService).getBookRespByGenreTitle("sat", CONTAINS, 0, 20);
+    }
+
+    @Test
+    void testGetBooksByGenreTitleAcceptsLowerCaseMatch() throws Exception {
+        when(bookService.getBookRespByGenreTitle("sat", PREFIX, 0, 20)).thenReturn(List.of());
+
+        mockMvc.perform(get("/books/by_genre_title/sat").param("match", "prefix"))
+                .andExpect(status().isOk());
+
+        verify(bookService).getBookRespByGenreTitle("sat", PREFIX, 0, 20);
+    }
+
+    @Test
+    void testGetBooksByGenreTitleRejectsUnknownMatch() throws Exception {
+        mockMvc.perform(get("/books/by_genre_title/sat").param("match", "fuzzy"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportBooksDefaultsToCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string(CONTENT_DISPOSITION, "attachment; filename=\"books.csv\""));
+        verify(bookExportService).exportBooks(eq(CSV), any());
+    }
+
+    @Test
+    void testExportBooksAcceptsLowerCaseFormat() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+        verify(bookExportService).exportBooks(eq(NDJSON), any());
+    }
+
+    @Test
+    void testSearchBooksRejectsNegativePage() throws Exception {
+        mockMvc.perform(get("/books/search").param("q", "dune").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bookSearchService);
+    }
+}
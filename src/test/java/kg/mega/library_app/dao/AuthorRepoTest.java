@@ -0,0 +1,109 @@
+package kg.mega.library_app.dao;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kg.mega.library_app.common.CatalogVersion;
+import kg.mega.library_app.models.constants.Role;
+import kg.mega.library_app.models.dto.requests.AuthorReq;
+import kg.mega.library_app.models.dto.requests.BookReq;
+import kg.mega.library_app.models.dto.requests.GenreReq;
+import kg.mega.library_app.models.entities.Author;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
+import kg.mega.library_app.services.AuthorService;
+import kg.mega.library_app.services.BookService;
+import kg.mega.library_app.services.impl.AuthorServiceImpl;
+import kg.mega.library_app.services.impl.BookServiceImpl;
+import kg.mega.library_app.services.impl.GenreServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AuthorServiceImpl.class, BookServiceImpl.class, GenreServiceImpl.class, CatalogVersion.class, SimpleMeterRegistry.class})
+class AuthorRepoTest {
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookRepo bookRepo;
+
+    @Autowired
+    private AuthorRepo authorRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @BeforeEach
+    void setUp() {
+        User librarian = userRepo.save(new User("Libra", "Rian", null, true, "librarian@example.com", Role.ROLE_USER));
+        AuthenticatedUser principal = new AuthenticatedUser(librarian.getId(), librarian.getEmail(),
+                librarian.getFirstname(), librarian.getLastname(), null, Role.ROLE_USER, true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        bookRepo.deleteAll();
+        authorRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void testDeleteBookThenCreateBookWithSameAuthor() throws Exception {
+        bookService.createBook(bookReq("A Clockwork Orange"));
+        Author first = authorService.getByFirstNameAndLastName("Anthony", "Burgess");
+        Long bookId = bookRepo.findAll().get(0).getId();
+
+        bookService.deleteBook(bookId);
+        assertFalse(authorRepo.existsById(first.getId()), "Deleting the book cascades to its author");
+
+        bookService.createBook(bookReq("Earthly Powers"));
+
+        List<Book> books = bookRepo.findAll();
+        assertEquals(1, books.size());
+        Author second = authorRepo.findByFirstnameAndLastname("Anthony", "Burgess");
+        assertNotNull(second);
+        assertNotEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    void testUpdateAuthorDropsTheOldCachedName() throws Exception {
+        bookService.createBook(bookReq("A Clockwork Orange"));
+        Author author = authorService.getByFirstNameAndLastName("Anthony", "Burgess");
+
+        authorService.updateAuthor(author.getId(), new AuthorReq("John", "Wilson", null, null));
+
+        assertNull(authorService.getByFirstNameAndLastName("Anthony", "Burgess"));
+    }
+
+    private static BookReq bookReq(String title) {
+        return BookReq
+                .builder()
+                .title(title)
+                .description("A novel.")
+                .publicationYear("1962")
+                .quantity(3)
+                .author(new AuthorReq("Anthony", "Burgess", null, null))
+                .genres(Set.of(new GenreReq("Satire", null)))
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package kg.mega.library_app.dao;
+
+import kg.mega.library_app.common.CatalogVersion;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.services.AuthorService;
+import kg.mega.library_app.services.GenreService;
+import kg.mega.library_app.services.impl.BookServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
+
+@DataJpaTest
+@Transactional(propagation = NOT_SUPPORTED)
+class BookRepoConcurrencyTest {
+    private static final int TAKERS = 64;
+    private static final int COPIES = 10;
+
+    @Autowired
+    private BookRepo bookRepo;
+
+    private BookServiceImpl bookService;
+
+    private Long bookId;
+
+    @BeforeEach
+    void setUp() {
+        bookService = new BookServiceImpl(bookRepo, mock(AuthorService.class), mock(GenreService.class), mock(UserRepo.class), new CatalogVersion(60));
+        bookId = bookRepo.save(Book.builder().title("Last copies").quantity(COPIES).build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepo.deleteAll();
+    }
+
+    @Test
+    void testConcurrentTakersNeverOversell() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(TAKERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger taken = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < TAKERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    if (bookService.decrementQuantity(bookId)) {
+                        taken.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(COPIES, taken.get());
+        assertEquals(0, bookRepo.findById(bookId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testIncrementAfterDecrementRestoresQuantity() {
+        bookService.decrementQuantity(bookId);
+        bookService.incrementQuantity(bookId);
+
+        assertEquals(COPIES, bookRepo.findById(bookId).orElseThrow().getQuantity());
+    }
+}
@@ -0,0 +1,182 @@
+package kg.mega.library_app.dao;
+
+import jakarta.persistence.EntityManager;
+import kg.mega.library_app.common.CatalogVersion;
+import kg.mega.library_app.common.CursorPages;
+import kg.mega.library_app.common.SqlStatistics;
+import kg.mega.library_app.common.exceptions.DataNotFoundException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
+import kg.mega.library_app.models.constants.GenreMatch;
+import kg.mega.library_app.models.constants.Role;
+import kg.mega.library_app.models.dto.requests.AuthorFullNameReq;
+import kg.mega.library_app.models.dto.responses.BookResp;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
+import kg.mega.library_app.models.entities.Author;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.models.entities.Genre;
+import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.services.AuthorService;
+import kg.mega.library_app.services.GenreService;
+import kg.mega.library_app.services.impl.BookServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookRepoTest {
+    private static final int BOOK_COUNT = 120;
+
+    @Autowired
+    private BookRepo bookRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private BookServiceImpl bookService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        bookService = new BookServiceImpl(bookRepo, mock(AuthorService.class), mock(GenreService.class), mock(UserRepo.class), new CatalogVersion(60));
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        User reader = new User("Reader", "One", null, true, "reader@example.com", Role.ROLE_USER);
+        entityManager.persist(reader);
+        Author author = new Author("John", "Doe");
+        entityManager.persist(author);
+        Genre drama = new Genre("Drama");
+        Genre satire = new Genre("Satire");
+        entityManager.persist(drama);
+        entityManager.persist(satire);
+
+        List<Book> favorites = new ArrayList<>();
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            Book book = Book
+                    .builder()
+                    .title("Book " + i)
+                    .quantity(3)
+                    .author(author)
+                    .genres(Set.of(drama, satire))
+                    .build();
+            entityManager.persist(book);
+            favorites.add(book);
+        }
+        reader.setFavorites(favorites);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testGetAllBooksUsesConstantNumberOfStatements() {
+        long smallPage = statementsFor(10);
+        long largePage = statementsFor(50);
+
+        assertEquals(smallPage, largePage);
+        assertTrue(largePage <= 3, "Expected at most 3 statements per page, got " + largePage);
+    }
+
+    @Test
+    void testSqlStatisticsCountsEveryStatementOfTheRequestThread() {
+        entityManager.clear();
+        statistics.clear();
+        SqlStatistics sqlStatistics = SqlStatistics.start();
+        try {
+            bookService.getAllBooks(0, 50);
+        } finally {
+            SqlStatistics.stop();
+        }
+
+        assertTrue(sqlStatistics.getStatements() > 0);
+        assertEquals(statistics.getPrepareStatementCount(), sqlStatistics.getStatements());
+    }
+
+    @Test
+    void testGetAllBooksAggregatesGenreTitles() {
+        List<BookResp> page = bookService.getAllBooks(0, 50);
+
+        assertEquals(50, page.size());
+        page.forEach(resp -> {
+            assertEquals("John", resp.getAuthorFirstname());
+            assertEquals(Set.of("Drama", "Satire"), Set.copyOf(resp.getGenreTitle()));
+        });
+    }
+
+    @Test
+    void testGetAllBooksAfterWalksCatalogWithoutCountQuery() throws InvalidCursorException {
+        entityManager.clear();
+        statistics.clear();
+        CursorPageResp<BookResp> page = bookService.getAllBooksAfter("", 50);
+        assertTrue(statistics.getPrepareStatementCount() <= 2);
+
+        int total = page.getSize();
+        int pages = 1;
+        while (page.getNextCursor() != null) {
+            page = bookService.getAllBooksAfter(page.getNextCursor(), 50);
+            total += page.getSize();
+            pages++;
+        }
+
+        assertEquals(BOOK_COUNT, total);
+        assertEquals(3, pages);
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetAllBooksAfterClampsPageSize() throws InvalidCursorException {
+        assertEquals(1, bookService.getAllBooksAfter("", 0).getSize());
+        assertEquals(1, bookService.getAllBooksAfter("", -5).getSize());
+
+        CursorPageResp<BookResp> capped = bookService.getAllBooksAfter("", 10_000);
+        assertEquals(CursorPages.MAX_SIZE, capped.getSize());
+        assertNotNull(capped.getNextCursor());
+    }
+
+    @Test
+    void testGetBooksByAuthorResolvesMatchesWithoutPerAuthorQueries() throws DataNotFoundException {
+        entityManager.clear();
+        statistics.clear();
+
+        List<BookResp> books = bookService.getBooksByAuthor(new AuthorFullNameReq("Jo", "Do"));
+
+        assertEquals(BOOK_COUNT, books.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetBookRespByGenreTitleReturnsEachBookOnceInOnePage() throws DataNotFoundException {
+        entityManager.clear();
+        statistics.clear();
+
+        List<BookResp> page = bookService.getBookRespByGenreTitle("a", GenreMatch.CONTAINS, 0, 50);
+
+        assertEquals(50, page.size());
+        assertEquals(50, page.stream().map(BookResp::getBookTitle).distinct().count());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(BOOK_COUNT - 100, bookService.getBookRespByGenreTitle("Sat", GenreMatch.PREFIX, 2, 50).size());
+        assertThrows(DataNotFoundException.class,
+                () -> bookService.getBookRespByGenreTitle("ama", GenreMatch.PREFIX, 0, 50));
+    }
+
+    private long statementsFor(int size) {
+        entityManager.clear();
+        statistics.clear();
+        List<BookResp> page = bookService.getAllBooks(1, size);
+        assertEquals(size, page.size());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,76 @@
+package kg.mega.library_app.dao;
+
+import jakarta.persistence.EntityManager;
+import kg.mega.library_app.models.constants.MailStatus;
+import kg.mega.library_app.models.entities.MailOutbox;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static kg.mega.library_app.models.constants.MailStatus.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class MailOutboxRepoTest {
+    @Autowired
+    private MailOutboxRepo mailOutboxRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testClaimTakesOnlyPendingRowsInOneStatement() {
+        MailOutbox first = persist(PENDING, null);
+        MailOutbox second = persist(PENDING, null);
+        MailOutbox taken = persist(SENDING, LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = List.of(first.getId(), second.getId(), taken.getId());
+
+        assertEquals(2, mailOutboxRepo.claim(ids, PENDING, SENDING, now, "token-1"));
+        assertEquals(0, mailOutboxRepo.claim(ids, PENDING, SENDING, now, "token-2"));
+
+        entityManager.clear();
+        List<MailOutbox> claimed = mailOutboxRepo.findClaimed("token-1");
+        assertEquals(List.of(first.getId(), second.getId()), claimed.stream().map(MailOutbox::getId).toList());
+        claimed.forEach(mail -> {
+            assertEquals(SENDING, mail.getStatus());
+            assertNotNull(mail.getClaimedAt());
+        });
+        assertTrue(mailOutboxRepo.findClaimed("token-2").isEmpty());
+    }
+
+    @Test
+    void testReleaseClaimedBeforeKeepsLiveClaims() {
+        LocalDateTime now = LocalDateTime.now();
+        MailOutbox expired = persist(SENDING, now.minusMinutes(10));
+        MailOutbox live = persist(SENDING, now.minusSeconds(10));
+        MailOutbox unclaimed = persist(SENDING, null);
+
+        assertEquals(2, mailOutboxRepo.releaseClaimedBefore(SENDING, PENDING, now.minusMinutes(5)));
+
+        entityManager.clear();
+        assertEquals(PENDING, mailOutboxRepo.findById(expired.getId()).orElseThrow().getStatus());
+        assertNull(mailOutboxRepo.findById(expired.getId()).orElseThrow().getClaimedAt());
+        assertEquals(SENDING, mailOutboxRepo.findById(live.getId()).orElseThrow().getStatus());
+        assertEquals(PENDING, mailOutboxRepo.findById(unclaimed.getId()).orElseThrow().getStatus());
+    }
+
+    private MailOutbox persist(MailStatus status, LocalDateTime claimedAt) {
+        MailOutbox mail = MailOutbox
+                .builder()
+                .recipient("test@example.com")
+                .subject("Subject")
+                .body("Text")
+                .status(status)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .claimedAt(claimedAt)
+                .build();
+        entityManager.persist(mail);
+        entityManager.flush();
+        return mail;
+    }
+}
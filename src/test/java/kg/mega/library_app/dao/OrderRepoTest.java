@@ -0,0 +1,160 @@
+package kg.mega.library_app.dao;
+
+import jakarta.persistence.EntityManager;
+import kg.mega.library_app.models.constants.OrderStatus;
+import kg.mega.library_app.models.constants.Role;
+import kg.mega.library_app.models.dto.projections.OrderHistoryView;
+import kg.mega.library_app.models.dto.projections.OrderView;
+import kg.mega.library_app.models.dto.requests.OrderFilterReq;
+import kg.mega.library_app.models.dto.requests.OrderHistoryFilterReq;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.models.entities.Order;
+import kg.mega.library_app.models.entities.OrderHistory;
+import kg.mega.library_app.models.entities.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class OrderRepoTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private OrderHistoryRepo orderHistoryRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User first;
+
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        first = new User("Reader", "One", null, true, "one@example.com", Role.ROLE_USER);
+        User second = new User("Reader", "Two", null, true, "two@example.com", Role.ROLE_USER);
+        entityManager.persist(first);
+        entityManager.persist(second);
+        book = Book.builder().title("Book").quantity(100).build();
+        Book other = Book.builder().title("Other").quantity(100).build();
+        entityManager.persist(book);
+        entityManager.persist(other);
+
+        for (int i = 0; i < 30; i++) {
+            LocalDate orderDate = START.plusDays(i);
+            Order order = Order
+                    .builder()
+                    .user(i % 2 == 0 ? first : second)
+                    .book(i % 3 == 0 ? book : other)
+                    .orderDate(orderDate)
+                    .returnDueDate(orderDate.plusDays(14))
+                    .actualReturnDate(i < 10 ? orderDate.plusDays(7) : null)
+                    .build();
+            entityManager.persist(order);
+            entityManager.persist(OrderHistory
+                    .builder()
+                    .order(order)
+                    .status(OrderStatus.TAKING)
+                    .actionDate(orderDate.atTime(12, 0))
+                    .build());
+            if (order.getActualReturnDate() != null) {
+                entityManager.persist(OrderHistory
+                        .builder()
+                        .order(order)
+                        .status(OrderStatus.RETURNING)
+                        .actionDate(order.getActualReturnDate().atTime(23, 59))
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFindViewsAfterWalksEveryOrderOnceInIdOrder() {
+        OrderFilterReq filter = new OrderFilterReq();
+        List<OrderView> seen = new ArrayList<>();
+        long lastId = 0;
+        List<OrderView> page;
+        do {
+            page = orderRepo.findViewsAfter(lastId, filter, 7);
+            seen.addAll(page);
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 7);
+
+        assertEquals(30, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1).getId() < seen.get(i).getId());
+        }
+        assertEquals("one@example.com", seen.get(0).getUserEmail());
+        assertEquals("Book", seen.get(0).getBookTitle());
+        assertEquals(START, seen.get(0).getOrderDate());
+    }
+
+    @Test
+    void testFindViewsAfterAppliesOrderFilters() {
+        List<OrderView> byUserAndBook = orderRepo.findViewsAfter(0L, OrderFilterReq
+                .builder()
+                .userId(first.getId())
+                .bookId(book.getId())
+                .build(), 100);
+        assertEquals(5, byUserAndBook.size());
+        assertTrue(byUserAndBook.stream().allMatch(view -> view.getUserEmail().equals("one@example.com")
+                && view.getBookTitle().equals("Book")));
+
+        assertEquals(10, orderRepo.findViewsAfter(0L, OrderFilterReq.builder().returned(true).build(), 100).size());
+        assertEquals(20, orderRepo.findViewsAfter(0L, OrderFilterReq.builder().returned(false).build(), 100).size());
+
+        List<OrderView> inRange = orderRepo.findViewsAfter(0L, OrderFilterReq
+                .builder()
+                .from(START.plusDays(5))
+                .to(START.plusDays(9))
+                .build(), 100);
+        assertEquals(5, inRange.size());
+        assertEquals(START.plusDays(5), inRange.get(0).getOrderDate());
+        assertEquals(START.plusDays(9), inRange.get(4).getOrderDate());
+    }
+
+    @Test
+    void testFindHistoryViewsAfterAppliesFilters() {
+        assertEquals(40, orderHistoryRepo.findViewsAfter(0L, new OrderHistoryFilterReq(), 100).size());
+
+        List<OrderHistoryView> returns = orderHistoryRepo.findViewsAfter(0L, OrderHistoryFilterReq
+                .builder()
+                .status(OrderStatus.RETURNING)
+                .build(), 100);
+        assertEquals(10, returns.size());
+        assertTrue(returns.stream().allMatch(view -> view.getStatus() == OrderStatus.RETURNING));
+
+        assertEquals(20, orderHistoryRepo.findViewsAfter(0L, OrderHistoryFilterReq
+                .builder()
+                .userId(first.getId())
+                .build(), 100).size());
+
+        List<OrderHistoryView> oneDay = orderHistoryRepo.findViewsAfter(0L, OrderHistoryFilterReq
+                .builder()
+                .from(START.plusDays(7))
+                .to(START.plusDays(7))
+                .build(), 100);
+        assertEquals(2, oneDay.size());
+        assertEquals(START.plusDays(7), oneDay.get(1).getActionDate().toLocalDate());
+
+        Long orderId = oneDay.get(0).getOrderId();
+        assertEquals(2, orderHistoryRepo.findViewsAfter(0L, OrderHistoryFilterReq
+                .builder()
+                .orderId(orderId)
+                .build(), 100).size());
+    }
+}
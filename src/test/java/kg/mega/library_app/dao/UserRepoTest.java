@@ -0,0 +1,94 @@
+package kg.mega.library_app.dao;
+
+import jakarta.persistence.EntityManager;
+import kg.mega.library_app.models.constants.Role;
+import kg.mega.library_app.models.dto.projections.UserView;
+import kg.mega.library_app.models.dto.requests.UserFilterReq;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserRepoTest {
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        User reader = new User("Reader", "One", null, true, "reader@example.com", Role.ROLE_USER);
+        reader.setPassword("encoded");
+        entityManager.persist(reader);
+        List<Book> favorites = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Book book = Book.builder().title("Book " + i).quantity(1).build();
+            entityManager.persist(book);
+            favorites.add(book);
+        }
+        reader.setFavorites(favorites);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFindPrincipalByEmailUsesOneStatementWithoutFavorites() {
+        statistics.clear();
+
+        AuthenticatedUser principal = userRepo.findPrincipalByEmail("reader@example.com").orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals("reader@example.com", principal.getUsername());
+        assertEquals("encoded", principal.getPassword());
+        assertEquals("Reader", principal.getFirstname());
+        assertTrue(principal.isEnabled());
+        assertEquals("ROLE_USER", principal.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void testFindPrincipalByEmailUnknownUser() {
+        assertTrue(userRepo.findPrincipalByEmail("nobody@example.com").isEmpty());
+    }
+
+    @Test
+    void testFindViewsAfterFiltersByRoleAndActivity() {
+        User admin = new User("Admin", "One", null, true, "admin@example.com", Role.ROLE_ADMIN);
+        User blocked = new User("Reader", "Blocked", null, false, "blocked@example.com", Role.ROLE_USER);
+        entityManager.persist(admin);
+        entityManager.persist(blocked);
+        entityManager.flush();
+
+        List<UserView> admins = userRepo.findViewsAfter(0L, UserFilterReq.builder().role(Role.ROLE_ADMIN).build(), 10);
+        assertEquals(1, admins.size());
+        assertEquals("admin@example.com", admins.get(0).getEmail());
+
+        List<UserView> activeReaders = userRepo.findViewsAfter(0L, UserFilterReq
+                .builder()
+                .role(Role.ROLE_USER)
+                .active(true)
+                .build(), 10);
+        assertEquals(1, activeReaders.size());
+        assertEquals("reader@example.com", activeReaders.get(0).getEmail());
+
+        List<UserView> all = userRepo.findViewsAfter(0L, new UserFilterReq(), 10);
+        assertEquals(3, all.size());
+        assertTrue(userRepo.findViewsAfter(all.get(2).getId(), new UserFilterReq(), 10).isEmpty());
+    }
+}
@@ -0,0 +1,170 @@
+package kg.mega.library_app.events.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import kg.mega.library_app.common.exceptions.DuplicateException;
+import kg.mega.library_app.configs.AsyncConfig;
+import kg.mega.library_app.dao.VerificationTokenRepo;
+import kg.mega.library_app.models.dto.requests.RegistrationReq;
+import kg.mega.library_app.models.entities.VerificationToken;
+import kg.mega.library_app.security.VerifiedTokenCache;
+import kg.mega.library_app.services.BookService;
+import kg.mega.library_app.services.JwtService;
+import kg.mega.library_app.services.NotificationService;
+import kg.mega.library_app.services.UserService;
+import kg.mega.library_app.services.impl.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(TaskExecutionAutoConfiguration.class)
+@Import({AsyncConfig.class, UserServiceImpl.class, RegistrationCompleteEventListener.class, ObjectMapper.class})
+class RegistrationCompleteEventListenerTest {
+    private static final int REGISTRATIONS = 500;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private VerificationTokenRepo verificationTokenRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private JavaMailSender mailSender;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    @MockBean
+    private BookService bookService;
+
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private final Queue<SentMail> sent = new ConcurrentLinkedQueue<>();
+
+    private CountDownLatch sending;
+
+    @BeforeEach
+    void setUp() {
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded");
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doAnswer(invocation -> {
+            MimeMessage message = invocation.getArgument(0);
+            sent.add(new SentMail(message.getAllRecipients()[0].toString(),
+                    (String) message.getContent(),
+                    Thread.currentThread().getName()));
+            sending.countDown();
+            return null;
+        }).when(mailSender).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void testConcurrentRegistrationsEachMailTheirOwnUserAfterCommit() throws Exception {
+        sending = new CountDownLatch(REGISTRATIONS);
+        ExecutorService clients = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> registrations = new ArrayList<>();
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            RegistrationReq req = registrationReq(i);
+            registrations.add(clients.submit(() -> {
+                start.await();
+                return userService.register(req, "http://localhost:8080");
+            }));
+        }
+        start.countDown();
+        for (Future<?> registration : registrations) {
+            registration.get(60, TimeUnit.SECONDS);
+        }
+        clients.shutdown();
+
+        assertTrue(sending.await(60, TimeUnit.SECONDS), "Every registration must send its email");
+        assertEquals(REGISTRATIONS, sent.size());
+
+        Map<String, String> tokens = verificationTokenRepo.findAll()
+                .stream()
+                .collect(Collectors.toMap(token -> token.getUser().getEmail(), VerificationToken::getToken));
+        Map<String, SentMail> byRecipient = new ConcurrentHashMap<>();
+        for (SentMail mail : sent) {
+            assertNull(byRecipient.put(mail.recipient(), mail), "Duplicate email to " + mail.recipient());
+            String index = mail.recipient().substring("user".length(), mail.recipient().indexOf('@'));
+            assertTrue(mail.content().contains("Hi, User" + index + ","), mail.recipient() + " got " + mail.content());
+            assertTrue(mail.content().contains("/users/verify_email?token=" + tokens.get(mail.recipient())));
+            assertTrue(mail.thread().startsWith("registration-mail-"), mail.thread());
+        }
+        assertEquals(REGISTRATIONS, byRecipient.size());
+    }
+
+    @Test
+    void testRolledBackRegistrationSendsNothing() throws Exception {
+        sending = new CountDownLatch(1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                userService.register(registrationReq(REGISTRATIONS), "http://localhost:8080");
+            } catch (DuplicateException e) {
+                throw new IllegalStateException(e);
+            }
+            status.setRollbackOnly();
+        });
+
+        assertFalse(sending.await(500, TimeUnit.MILLISECONDS));
+        assertTrue(sent.isEmpty());
+    }
+
+    private static RegistrationReq registrationReq(int i) {
+        RegistrationReq req = new RegistrationReq();
+        req.setFirstname("User" + i);
+        req.setLastname("Reader");
+        req.setEmail("user" + i + "@example.com");
+        req.setPassword("password");
+        return req;
+    }
+
+    private record SentMail(String recipient, String content, String thread) {
+    }
+}
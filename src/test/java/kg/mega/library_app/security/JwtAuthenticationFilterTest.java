@@ -0,0 +1,141 @@
+package kg.mega.library_app.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kg.mega.library_app.common.CatalogVersion;
+import kg.mega.library_app.configs.ApplicationConfig;
+import kg.mega.library_app.configs.SecurityConfig;
+import kg.mega.library_app.controllers.v1.BookController;
+import kg.mega.library_app.controllers.v1.UserController;
+import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.services.BookExportService;
+import kg.mega.library_app.services.BookImportService;
+import kg.mega.library_app.services.BookSearchService;
+import kg.mega.library_app.services.BookService;
+import kg.mega.library_app.services.JwtService;
+import kg.mega.library_app.services.UserService;
+import kg.mega.library_app.services.VerificationTokenService;
+import kg.mega.library_app.services.impl.JwtServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static kg.mega.library_app.models.constants.Role.ROLE_USER;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest({BookController.class, UserController.class})
+@Import({SecurityConfig.class, ApplicationConfig.class, JwtServiceImpl.class, VerifiedTokenCache.class, SimpleMeterRegistry.class})
+class JwtAuthenticationFilterTest {
+    private static final String EMAIL = "reader@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private UserRepo userRepo;
+
+    @MockBean
+    private BookService bookService;
+
+    @MockBean
+    private BookImportService bookImportService;
+
+    @MockBean
+    private BookExportService bookExportService;
+
+    @MockBean
+    private BookSearchService bookSearchService;
+
+    @MockBean
+    private CatalogVersion catalogVersion;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private VerificationTokenService verificationTokenService;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(bookSearchService.search(anyString(), anyInt(), anyInt())).thenReturn(List.of());
+        AuthenticatedUser reader = reader(true);
+        when(userRepo.findPrincipalByEmail(EMAIL)).thenReturn(Optional.of(reader));
+        token = "Bearer " + jwtService.generateToken(reader);
+        verifiedTokenCache.evictUser(EMAIL);
+    }
+
+    @Test
+    void testBlockedUserLosesAccessOnTheNextRequest() throws Exception {
+        mockMvc.perform(get("/books/search").param("q", "war").header("Authorization", token))
+                .andExpect(status().isOk());
+
+        when(userRepo.findPrincipalByEmail(EMAIL)).thenReturn(Optional.of(reader(false)));
+        verifiedTokenCache.evictUser(EMAIL);
+
+        mockMvc.perform(get("/books/search").param("q", "war").header("Authorization", token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/books/search").param("q", "war").header("Authorization", token))
+                .andExpect(status().isForbidden());
+        verify(userRepo, times(3)).findPrincipalByEmail(EMAIL);
+    }
+
+    @Test
+    void testRegistrationReturnsNoTokenAndUnverifiedUserIsRejected() throws Exception {
+        mockMvc.perform(post("/users/registration")
+                        .contentType(APPLICATION_JSON)
+                        .content("""
+                                {"firstname": "Reader", "lastname": "One", "phone_number": "+996550785352",
+                                 "email": "reader@example.com", "password": "Khabib27medina"}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.access_token").doesNotExist());
+        verify(userService).register(any(), anyString());
+
+        when(userRepo.findPrincipalByEmail(EMAIL)).thenReturn(Optional.of(reader(false)));
+        String unverified = "Bearer " + jwtService.generateToken(reader(false));
+        mockMvc.perform(get("/books/search").param("q", "war").header("Authorization", unverified))
+                .andExpect(status().isForbidden());
+
+        when(userRepo.findPrincipalByEmail(EMAIL)).thenReturn(Optional.of(reader(true)));
+        mockMvc.perform(get("/books/search").param("q", "war").header("Authorization", unverified))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testVerifiedTokenIsServedFromCache() throws Exception {
+        mockMvc.perform(get("/books/search").param("q", "war").header("Authorization", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/books/search").param("q", "war").header("Authorization", token))
+                .andExpect(status().isOk());
+
+        verify(userRepo, times(1)).findPrincipalByEmail(EMAIL);
+    }
+
+    private static AuthenticatedUser reader(boolean active) {
+        return new AuthenticatedUser(2L, EMAIL, "Reader", "One", "password", ROLE_USER, active);
+    }
+}
@@ -0,0 +1,63 @@
+package kg.mega.library_app.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kg.mega.library_app.models.entities.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(meterRegistry, 100, 600);
+    }
+
+    @Test
+    void testGetReturnsCachedPrincipalAndCountsHitsAndMisses() {
+        User user = new User("test@example.com");
+
+        assertNull(verifiedTokenCache.get("token"));
+        verifiedTokenCache.put("token", claimsExpiringIn(60_000), user);
+
+        assertSame(user, verifiedTokenCache.get("token"));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "verifiedTokens").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "verifiedTokens").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testPutSkipsExpiredToken() {
+        verifiedTokenCache.put("token", claimsExpiringIn(-1_000), new User("test@example.com"));
+
+        assertNull(verifiedTokenCache.get("token"));
+    }
+
+    @Test
+    void testEvictUserRemovesAllTokensOfThatUser() {
+        User user = new User("test@example.com");
+        User other = new User("other@example.com");
+        verifiedTokenCache.put("token1", claimsExpiringIn(60_000), user);
+        verifiedTokenCache.put("token2", claimsExpiringIn(60_000), user);
+        verifiedTokenCache.put("token3", claimsExpiringIn(60_000), other);
+
+        verifiedTokenCache.evictUser("test@example.com");
+
+        assertNull(verifiedTokenCache.get("token1"));
+        assertNull(verifiedTokenCache.get("token2"));
+        assertSame(other, verifiedTokenCache.get("token3"));
+    }
+
+    private Claims claimsExpiringIn(long millis) {
+        Claims claims = new DefaultClaims();
+        claims.setExpiration(new Date(System.currentTimeMillis() + millis));
+        return claims;
+    }
+}
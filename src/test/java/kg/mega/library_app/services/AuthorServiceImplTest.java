@@ -1,5 +1,6 @@
 package kg.mega.library_app.services;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.DuplicateException;
 import kg.mega.library_app.dao.AuthorRepo;
@@ -9,7 +10,6 @@ import kg.mega.library_app.services.impl.AuthorServiceImpl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -24,12 +24,15 @@ class AuthorServiceImplTest {
     @Mock
     private AuthorRepo authorRepo;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private AuthorServiceImpl authorService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        authorService = new AuthorServiceImpl(authorRepo, meterRegistry, 100, 30);
     }
 
     @Test
@@ -139,4 +142,35 @@ class AuthorServiceImplTest {
         verify(authorRepo, times(1)).findById(authorId);
         verify(authorRepo, never()).delete(any(Author.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetByFirstNameAndLastNameServedFromCache() {
+        Author author = new Author("John", "Doe");
+        author.setId(3L);
+        Author reference = new Author();
+        when(authorRepo.findByFirstnameAndLastname("John", "Doe")).thenReturn(author);
+        when(authorRepo.getReferenceById(3L)).thenReturn(reference);
+
+        authorService.getByFirstNameAndLastName("John", "Doe");
+        Author cached = authorService.getByFirstNameAndLastName("John", "Doe");
+
+        Assertions.assertSame(reference, cached);
+        verify(authorRepo, times(1)).findByFirstnameAndLastname("John", "Doe");
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "authorIds").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testDeleteAuthorInvalidatesCachedName() throws DataNotFoundException {
+        Author author = new Author("John", "Doe");
+        author.setId(3L);
+        when(authorRepo.findByFirstnameAndLastname("John", "Doe")).thenReturn(author);
+        when(authorRepo.findById(3L)).thenReturn(Optional.of(author));
+        authorService.getByFirstNameAndLastName("John", "Doe");
+
+        authorService.deleteAuthor(3L);
+        when(authorRepo.findByFirstnameAndLastname("John", "Doe")).thenReturn(null);
+
+        Assertions.assertNull(authorService.getByFirstNameAndLastName("John", "Doe"));
+        verify(authorRepo, never()).getReferenceById(3L);
+    }
+}
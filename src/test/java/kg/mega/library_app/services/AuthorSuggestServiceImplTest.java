@@ -0,0 +1,64 @@
+package kg.mega.library_app.services;
+
+import kg.mega.library_app.dao.AuthorRepo;
+import kg.mega.library_app.models.dto.responses.AuthorSuggestionResp;
+import kg.mega.library_app.services.impl.AuthorSuggestServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+
+class AuthorSuggestServiceImplTest {
+    @Mock
+    private AuthorRepo authorRepo;
+
+    private AuthorSuggestServiceImpl authorSuggestService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        authorSuggestService = new AuthorSuggestServiceImpl(authorRepo, mock(PlatformTransactionManager.class), 2);
+        when(authorRepo.streamAllSuggestions()).thenReturn(Stream.of(
+                new AuthorSuggestionResp(1L, "Ernest", "Hemingway"),
+                new AuthorSuggestionResp(2L, "Émile", "Zola"),
+                new AuthorSuggestionResp(3L, "Erich Maria", "Remarque")
+        ));
+        authorSuggestService.reload();
+    }
+
+    @Test
+    void testSuggestMatchesFirstAndLastNamePrefixes() {
+        Assertions.assertEquals(List.of(1L), ids(authorSuggestService.suggest("hem", 10)));
+        Assertions.assertEquals(List.of(1L), ids(authorSuggestService.suggest("ernest h", 10)));
+        Assertions.assertEquals(List.of(3L), ids(authorSuggestService.suggest("  REMARQUE   erich ", 10)));
+        Assertions.assertTrue(authorSuggestService.suggest("", 10).isEmpty());
+    }
+
+    @Test
+    void testSuggestIgnoresDiacriticsAndCapsLimit() {
+        Assertions.assertEquals(List.of(2L), ids(authorSuggestService.suggest("emi", 10)));
+        Assertions.assertEquals(2, authorSuggestService.suggest("e", 10).size());
+    }
+
+    @Test
+    void testPutAndRemoveAuthorKeepIndexInSync() {
+        authorSuggestService.putAuthor(1L, "Ernest", "Miller");
+        Assertions.assertTrue(authorSuggestService.suggest("hemingway", 10).isEmpty());
+        Assertions.assertEquals(List.of(1L), ids(authorSuggestService.suggest("mil", 10)));
+
+        authorSuggestService.removeAuthor(1L);
+        Assertions.assertTrue(authorSuggestService.suggest("ernest", 10).isEmpty());
+        verify(authorRepo, times(1)).streamAllSuggestions();
+    }
+
+    private static List<Long> ids(List<AuthorSuggestionResp> suggestions) {
+        return suggestions.stream().map(AuthorSuggestionResp::getId).toList();
+    }
+}
@@ -0,0 +1,89 @@
+package kg.mega.library_app.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import kg.mega.library_app.dao.BookRepo;
+import kg.mega.library_app.models.entities.Author;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.models.entities.Genre;
+import kg.mega.library_app.services.impl.BookExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static kg.mega.library_app.models.constants.ExportFormat.CSV;
+import static kg.mega.library_app.models.constants.ExportFormat.NDJSON;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class BookExportServiceImplTest {
+    @Autowired
+    private BookRepo bookRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BookExportServiceImpl bookExportService;
+
+    @BeforeEach
+    void setUp() {
+        bookExportService = new BookExportServiceImpl(bookRepo, objectMapper);
+
+        Author author = new Author("Anthony", "Burgess");
+        entityManager.persist(author);
+        Genre satire = new Genre("Satire");
+        Genre drama = new Genre("Drama");
+        entityManager.persist(satire);
+        entityManager.persist(drama);
+        entityManager.persist(Book
+                .builder()
+                .title("A Clockwork Orange")
+                .description("Dystopian, satirical \"black\" comedy")
+                .publicationYear("1962")
+                .quantity(3)
+                .author(author)
+                .genres(Set.of(satire, drama))
+                .build());
+        entityManager.persist(Book.builder().title("Untitled").quantity(1).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testExportCsvAggregatesGenresAndQuotesFields() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookExportService.exportBooks(CSV, out);
+
+        String[] lines = out.toString(UTF_8).split("\\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,title,description,publication_year,quantity,author_firstname,author_lastname,genres", lines[0]);
+        assertEquals(",A Clockwork Orange,\"Dystopian, satirical \"\"black\"\" comedy\",1962,3,Anthony,Burgess,Drama|Satire",
+                lines[1].substring(lines[1].indexOf(',')));
+        assertEquals(",Untitled,,,1,,,", lines[2].substring(lines[2].indexOf(',')));
+    }
+
+    @Test
+    void testExportNdjsonWritesOneObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookExportService.exportBooks(NDJSON, out);
+
+        String[] lines = out.toString(UTF_8).split("\\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("A Clockwork Orange", first.get("title").asText());
+        assertEquals("Burgess", first.get("author_lastname").asText());
+        assertEquals(2, first.get("genres").size());
+        assertEquals(0, objectMapper.readTree(lines[1]).get("genres").size());
+    }
+}
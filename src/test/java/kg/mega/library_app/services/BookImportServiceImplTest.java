@@ -0,0 +1,151 @@
+package kg.mega.library_app.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import kg.mega.library_app.dao.AuthorRepo;
+import kg.mega.library_app.dao.BookRepo;
+import kg.mega.library_app.dao.GenreRepo;
+import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.models.dto.responses.BookImportResp;
+import kg.mega.library_app.models.entities.Author;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.models.entities.Genre;
+import kg.mega.library_app.services.impl.BookImportServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookImportServiceImplTest {
+    private static final int BOOK_COUNT = 120;
+
+    @Autowired
+    private BookRepo bookRepo;
+
+    @Autowired
+    private AuthorRepo authorRepo;
+
+    @Autowired
+    private GenreRepo genreRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BookImportServiceImpl bookImportService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        bookImportService = new BookImportServiceImpl(
+                bookRepo,
+                authorRepo,
+                genreRepo,
+                userRepo,
+                entityManager,
+                new TransactionTemplate(transactionManager),
+                new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                50,
+                50
+        );
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testImportCsvBatchesInsertsAndReusesExistingDictionaries() throws IOException {
+        entityManager.persist(new Author("John", "Doe"));
+        entityManager.persist(new Genre("Drama"));
+        entityManager.flush();
+        entityManager.clear();
+
+        StringBuilder csv = new StringBuilder("title,description,publication_year,quantity,author_firstname,author_lastname,genres\n");
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            csv.append("Book ").append(i).append(",\"Plain, quoted\",1962,3,")
+                    .append(i % 2 == 0 ? "John,Doe" : "Jane,Roe")
+                    .append(",Drama|Satire\n");
+        }
+
+        statistics.clear();
+        BookImportResp resp = bookImportService.importCsv(stream(csv.toString()));
+
+        assertEquals(BOOK_COUNT, resp.getReceived());
+        assertEquals(BOOK_COUNT, resp.getImported());
+        assertEquals(0, resp.getRejected());
+        assertTrue(statistics.getPrepareStatementCount() < 40,
+                "Expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+
+        assertEquals(BOOK_COUNT, bookRepo.count());
+        assertEquals(2, authorRepo.count());
+        assertEquals(2, genreRepo.count());
+        Book book = bookRepo.findAllByAuthorFirstnameAndAuthorLastname("John", "Doe").get(0);
+        assertEquals("Plain, quoted", book.getDescription());
+        assertEquals(Set.of("Drama", "Satire"),
+                book.getGenres().stream().map(Genre::getTitle).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testImportJsonSkipsDuplicatesAndReportsInvalidRows() throws IOException {
+        String book = """
+                {"title": "Dune", "publication_year": "1965", "quantity": 2,
+                 "author": {"author_firstname": "Frank", "author_lastname": "Herbert"},
+                 "genres": [{"title": "Science fiction"}]}""";
+        bookImportService.importJson(stream("[" + book + "]"));
+
+        String invalid = """
+                {"title": "Broken", "publication_year": "19", "quantity": 0,
+                 "author": {"author_firstname": "Frank", "author_lastname": "Herbert"},
+                 "genres": []}""";
+        BookImportResp resp = bookImportService.importJson(stream("[" + book + "," + book + "," + invalid + "]"));
+
+        assertEquals(3, resp.getReceived());
+        assertEquals(0, resp.getImported());
+        assertEquals(2, resp.getDuplicates());
+        assertEquals(1, resp.getRejected());
+        assertTrue(resp.getErrors().get(0).startsWith("Row 3: "));
+        assertEquals(1, bookRepo.count());
+    }
+
+    @Test
+    void testImportCsvRejectsUnparsableRowsAndContinues() throws IOException {
+        String csv = """
+                title,publication_year,quantity,author_firstname,author_lastname,genres
+                Dune,1965,many,Frank,Herbert,Science fiction
+                Dune,1965,2,Frank,Herbert,Science fiction
+                """;
+
+        BookImportResp resp = bookImportService.importCsv(stream(csv));
+
+        assertEquals(2, resp.getReceived());
+        assertEquals(1, resp.getImported());
+        assertEquals(1, resp.getRejected());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,148 @@
+package kg.mega.library_app.services;
+
+import jakarta.persistence.EntityManager;
+import kg.mega.library_app.common.CatalogVersion;
+import kg.mega.library_app.dao.BookRepo;
+import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.models.dto.responses.BookResp;
+import kg.mega.library_app.models.entities.Author;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.models.entities.Genre;
+import kg.mega.library_app.services.impl.BookSearchServiceImpl;
+import kg.mega.library_app.services.impl.BookServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
+
+@DataJpaTest
+class BookSearchServiceImplTest {
+    @Autowired
+    private BookRepo bookRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BookSearchServiceImpl bookSearchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        BookServiceImpl bookService = new BookServiceImpl(bookRepo, mock(AuthorService.class), mock(GenreService.class), mock(UserRepo.class), new CatalogVersion(60));
+        bookSearchService = new BookSearchServiceImpl(bookRepo, bookService, transactionManager, Runnable::run, "");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        bookSearchService.close();
+    }
+
+    @Test
+    void testSearchRanksTitleMatchesFirstAndMatchesPrefixes() throws IOException {
+        Author burgess = new Author("Anthony", "Burgess");
+        Author orwell = new Author("George", "Orwell");
+        entityManager.persist(burgess);
+        entityManager.persist(orwell);
+        Genre satire = new Genre("Satire");
+        entityManager.persist(satire);
+        entityManager.persist(Book.builder().title("A Clockwork Orange").quantity(1).author(burgess).genres(Set.of(satire)).build());
+        entityManager.persist(Book.builder().title("Animal Farm").description("Not an orange in sight").quantity(1).author(orwell).genres(Set.of(satire)).build());
+        entityManager.persist(Book.builder().title("Nineteen Eighty-Four").quantity(1).author(orwell).build());
+        entityManager.flush();
+        bookSearchService.reindexAll();
+
+        List<BookResp> oranges = bookSearchService.search("orange", 0, 10);
+        assertEquals(List.of("A Clockwork Orange", "Animal Farm"), oranges.stream().map(BookResp::getBookTitle).toList());
+
+        assertEquals(List.of("A Clockwork Orange"), titles(bookSearchService.search("burgess clock", 0, 10)));
+        assertEquals(2, bookSearchService.search("orwell", 0, 10).size());
+        assertEquals(1, bookSearchService.search("orwell", 1, 1).size());
+        assertEquals(2, bookSearchService.search("SATIRE", 0, 10).size());
+        assertTrue(bookSearchService.search("   ", 0, 10).isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = NOT_SUPPORTED)
+    void testIndexChangesBecomeVisibleAfterCommit() throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        Long id = transaction.execute(status -> {
+            Book book = bookRepo.save(Book.builder().title("Dune").quantity(1).build());
+            bookSearchService.indexBook(book.getId());
+            try {
+                assertTrue(bookSearchService.search("dune", 0, 10).isEmpty());
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return book.getId();
+        });
+        assertEquals(List.of("Dune"), titles(bookSearchService.search("dune", 0, 10)));
+
+        transaction.executeWithoutResult(status -> {
+            bookRepo.deleteById(id);
+            bookSearchService.removeBook(id);
+        });
+        assertTrue(bookSearchService.search("dune", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testSearchClampsPageSizeAndCapsResults() throws IOException {
+        Author herbert = new Author("Frank", "Herbert");
+        entityManager.persist(herbert);
+        for (int i = 0; i < 120; i++) {
+            entityManager.persist(Book.builder().title("Dune " + i).quantity(1).author(herbert).build());
+        }
+        entityManager.flush();
+        bookSearchService.reindexAll();
+
+        assertEquals(100, bookSearchService.search("dune", 0, 500).size());
+        assertEquals(20, bookSearchService.search("dune", 1, 500).size());
+        assertEquals(1, bookSearchService.search("dune", 0, 0).size());
+        assertTrue(bookSearchService.search("dune", 10, 100).isEmpty());
+        assertTrue(bookSearchService.search("dune", Integer.MAX_VALUE, 100).isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = NOT_SUPPORTED)
+    void testRenamingAnAuthorReindexesTheirBooks() throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long authorId = transaction.execute(status -> {
+            Author author = new Author("Richard", "Bachman");
+            entityManager.persist(author);
+            entityManager.persist(Book.builder().title("The Long Walk").quantity(1).author(author).build());
+            return author.getId();
+        });
+        bookSearchService.reindexAll();
+        assertEquals(List.of("The Long Walk"), titles(bookSearchService.search("bachman", 0, 10)));
+
+        try {
+            transaction.executeWithoutResult(status -> {
+                entityManager.find(Author.class, authorId).setLastname("King");
+                bookSearchService.indexAuthorBooks(authorId);
+            });
+            assertTrue(bookSearchService.search("bachman", 0, 10).isEmpty());
+            assertEquals(List.of("The Long Walk"), titles(bookSearchService.search("king", 0, 10)));
+        } finally {
+            transaction.executeWithoutResult(status -> entityManager.remove(entityManager.find(Author.class, authorId)));
+        }
+    }
+
+    private static List<String> titles(List<BookResp> books) {
+        return books.stream().map(BookResp::getBookTitle).toList();
+    }
+}
@@ -1,17 +1,25 @@
 package kg.mega.library_app.services;
 
+import kg.mega.library_app.common.CatalogVersion;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
+import kg.mega.library_app.common.CursorCodec;
 import kg.mega.library_app.common.exceptions.DuplicateException;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
 import kg.mega.library_app.dao.BookRepo;
+import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.models.constants.GenreMatch;
+import kg.mega.library_app.models.dto.projections.BookGenreView;
+import kg.mega.library_app.models.dto.projections.BookView;
 import kg.mega.library_app.models.dto.requests.AuthorFullNameReq;
 import kg.mega.library_app.models.dto.requests.AuthorReq;
 import kg.mega.library_app.models.dto.requests.BookReq;
 import kg.mega.library_app.models.dto.requests.GenreReq;
 import kg.mega.library_app.models.dto.responses.BookResp;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
 import kg.mega.library_app.models.entities.Author;
 import kg.mega.library_app.models.entities.Book;
 import kg.mega.library_app.models.entities.Genre;
-import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
 import kg.mega.library_app.services.AuthorService;
 import kg.mega.library_app.services.GenreService;
 import kg.mega.library_app.services.impl.BookServiceImpl;
@@ -20,12 +28,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static kg.mega.library_app.models.constants.Role.ROLE_ADMIN;
 import static org.mockito.Mockito.*;
 
 class BookServiceImplTest {
@@ -38,48 +49,106 @@ class BookServiceImplTest {
     @Mock
     private GenreService genreService;
 
+    @Mock
+    private UserRepo userRepo;
+
+    private CatalogVersion catalogVersion;
+
     private BookServiceImpl bookService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        bookService = new BookServiceImpl(bookRepo, authorService, genreService);
+        catalogVersion = new CatalogVersion(60);
+        bookService = new BookServiceImpl(bookRepo, authorService, genreService, userRepo, catalogVersion);
     }
 
     @Test
     void testGetBookRespByGenreThrowsDataNotFoundException() {
         Long genreId = 1L;
-        when(bookRepo.findAllByGenreId(genreId)).thenReturn(new ArrayList<>());
+        when(bookRepo.findAllViewsByGenreId(genreId)).thenReturn(new ArrayList<>());
 
         Assertions.assertThrows(DataNotFoundException.class, () -> bookService.getBookRespByGenre(genreId));
-        verify(bookRepo, times(1)).findAllByGenreId(genreId);
+        verify(bookRepo, times(1)).findAllViewsByGenreId(genreId);
+    }
+
+    @Test
+    void testGetAllBooks() {
+        List<BookView> views = new ArrayList<>();
+        views.add(new BookView(1L, "Book 1", "John", "Doe", 2));
+        views.add(new BookView(2L, "Book 2", "John", "Doe", 1));
+        when(bookRepo.findAllViews(PageRequest.of(0, 5))).thenReturn(new PageImpl<>(views));
+        when(bookRepo.findGenreTitlesByBookIds(Set.of(1L, 2L))).thenReturn(List.of(
+                new BookGenreView(1L, "Genre 1"),
+                new BookGenreView(1L, "Genre 2"),
+                new BookGenreView(2L, "Genre 1")));
+
+        List<BookResp> result = bookService.getAllBooks(0, 5);
+
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals(List.of("Genre 1", "Genre 2"), result.get(0).getGenreTitle());
+        Assertions.assertEquals(List.of("Genre 1"), result.get(1).getGenreTitle());
+        verify(bookRepo, times(1)).findAllViews(PageRequest.of(0, 5));
+        verify(bookRepo, times(1)).findGenreTitlesByBookIds(Set.of(1L, 2L));
+    }
+
+    @Test
+    void testGetAllBooksAfter() throws InvalidCursorException {
+        List<BookView> views = new ArrayList<>();
+        views.add(new BookView(11L, "Book 11", "John", "Doe", 1));
+        views.add(new BookView(12L, "Book 12", "John", "Doe", 1));
+        views.add(new BookView(13L, "Book 13", "John", "Doe", 1));
+        when(bookRepo.findAllViewsAfter(10L, PageRequest.of(0, 3))).thenReturn(views);
+
+        CursorPageResp<BookResp> result = bookService.getAllBooksAfter(CursorCodec.encode(10L), 2);
+
+        Assertions.assertEquals(2, result.getSize());
+        Assertions.assertEquals("Book 12", result.getContent().get(1).getBookTitle());
+        Assertions.assertEquals(12L, CursorCodec.decode(result.getNextCursor()));
+        verify(bookRepo, never()).findAllViews(any());
+        verify(bookRepo, never()).count();
+    }
+
+    @Test
+    void testGetAllBooksAfterLastPageHasNoNextCursor() throws InvalidCursorException {
+        List<BookView> views = new ArrayList<>();
+        views.add(new BookView(1L, "Book 1", "John", "Doe", 1));
+        when(bookRepo.findAllViewsAfter(0L, PageRequest.of(0, 6))).thenReturn(views);
+
+        CursorPageResp<BookResp> result = bookService.getAllBooksAfter("", 5);
+
+        Assertions.assertEquals(1, result.getSize());
+        Assertions.assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testGetAllBooksAfterThrowsInvalidCursorException() {
+        Assertions.assertThrows(InvalidCursorException.class, () -> bookService.getAllBooksAfter("not a cursor", 5));
     }
 
     @Test
     void testGetBooksByAuthor() throws DataNotFoundException {
         AuthorFullNameReq req = new AuthorFullNameReq("John", "Doe");
-        List<Author> authors = new ArrayList<>();
-        authors.add(new Author("John", "Doe"));
-        when(authorService.getAllByFirstNameAndLastName(req.getAuthorFirstname(), req.getAuthorLastname())).thenReturn(authors);
-        List<Book> books = new ArrayList<>();
-        books.add(new Book("Book 1", new Author("John", "Doe")));
-        books.add(new Book("Book 2", new Author("John", "Doe")));
-        when(bookRepo.findAllByAuthorFirstnameAndAuthorLastname("John", "Doe")).thenReturn(books);
+        List<BookView> views = new ArrayList<>();
+        views.add(new BookView(1L, "Book 1", "John", "Doe", 1));
+        views.add(new BookView(2L, "Book 2", "Johnny", "Doe", 1));
+        when(bookRepo.findAllViewsByAuthorNameContaining("John", "Doe")).thenReturn(views);
 
         List<BookResp> result = bookService.getBooksByAuthor(req);
 
         Assertions.assertEquals(2, result.size());
-        verify(authorService, times(1)).getAllByFirstNameAndLastName(req.getAuthorFirstname(), req.getAuthorLastname());
-        verify(bookRepo, times(1)).findAllByAuthorFirstnameAndAuthorLastname("John", "Doe");
+        verify(bookRepo, times(1)).findAllViewsByAuthorNameContaining("John", "Doe");
+        verify(bookRepo, never()).findAllByAuthorFirstnameAndAuthorLastname(anyString(), anyString());
+        verifyNoInteractions(authorService);
     }
 
     @Test
     void testGetBooksByAuthorThrowsDataNotFoundException() {
         AuthorFullNameReq req = new AuthorFullNameReq("John", "Doe");
-        when(authorService.getAllByFirstNameAndLastName(req.getAuthorFirstname(), req.getAuthorLastname())).thenReturn(new ArrayList<>());
+        when(bookRepo.findAllViewsByAuthorNameContaining("John", "Doe")).thenReturn(new ArrayList<>());
 
         Assertions.assertThrows(DataNotFoundException.class, () -> bookService.getBooksByAuthor(req));
-        verify(authorService, times(1)).getAllByFirstNameAndLastName(req.getAuthorFirstname(), req.getAuthorLastname());
+        verify(bookRepo, times(1)).findAllViewsByAuthorNameContaining("John", "Doe");
     }
 
     @Test
@@ -106,33 +175,46 @@ class BookServiceImplTest {
     @Test
     void testGetBookRespByGenreTitleThrowsDataNotFoundException() {
         String genreTitle = "Genre 1";
-        when(genreService.getAllByTitle(genreTitle)).thenReturn(new ArrayList<>());
+        when(bookRepo.findAllViewsByGenreTitleLike("%Genre 1%", PageRequest.of(0, 20))).thenReturn(new ArrayList<>());
 
-        Assertions.assertThrows(DataNotFoundException.class, () -> bookService.getBookRespByGenreTitle(genreTitle));
-        verify(genreService, times(1)).getAllByTitle(genreTitle);
+        Assertions.assertThrows(DataNotFoundException.class,
+                () -> bookService.getBookRespByGenreTitle(genreTitle, GenreMatch.CONTAINS, 0, 20));
+        verify(bookRepo, times(1)).findAllViewsByGenreTitleLike("%Genre 1%", PageRequest.of(0, 20));
+        verifyNoInteractions(genreService);
+    }
+
+    @Test
+    void testGetBookRespByGenreTitleEscapesPrefixPattern() throws DataNotFoundException {
+        List<BookView> views = new ArrayList<>();
+        views.add(new BookView(1L, "Book 1", "John", "Doe", 1));
+        when(bookRepo.findAllViewsByGenreTitleLike("100!%!_%", PageRequest.of(1, 5))).thenReturn(views);
+
+        List<BookResp> result = bookService.getBookRespByGenreTitle("100%_", GenreMatch.PREFIX, 1, 5);
+
+        Assertions.assertEquals(1, result.size());
     }
 
     @Test
     void testGetBooksByAuthorId() throws DataNotFoundException {
         Long authorId = 1L;
-        List<Book> books = new ArrayList<>();
-        books.add(new Book("Book 1", new Author("John", "Doe")));
-        books.add(new Book("Book 2", new Author("John", "Doe")));
-        when(bookRepo.findAllByAuthorId(authorId)).thenReturn(books);
+        List<BookView> views = new ArrayList<>();
+        views.add(new BookView(1L, "Book 1", "John", "Doe", 1));
+        views.add(new BookView(2L, "Book 2", "John", "Doe", 1));
+        when(bookRepo.findAllViewsByAuthorId(authorId)).thenReturn(views);
 
         List<BookResp> result = bookService.getBooksByAuthorId(authorId);
 
         Assertions.assertEquals(2, result.size());
-        verify(bookRepo, times(1)).findAllByAuthorId(authorId);
+        verify(bookRepo, times(1)).findAllViewsByAuthorId(authorId);
     }
 
     @Test
     void testGetBooksByAuthorIdThrowsDataNotFoundException() {
         Long authorId = 1L;
-        when(bookRepo.findAllByAuthorId(authorId)).thenReturn(new ArrayList<>());
+        when(bookRepo.findAllViewsByAuthorId(authorId)).thenReturn(new ArrayList<>());
 
         Assertions.assertThrows(DataNotFoundException.class, () -> bookService.getBooksByAuthorId(authorId));
-        verify(bookRepo, times(1)).findAllByAuthorId(authorId);
+        verify(bookRepo, times(1)).findAllViewsByAuthorId(authorId);
     }
 
     @Test
@@ -146,6 +228,23 @@ class BookServiceImplTest {
         verify(bookRepo, times(1)).save(book);
     }
 
+    @Test
+    void testQuantityChangesBumpCatalogVersion() {
+        when(bookRepo.decrementQuantity(1L)).thenReturn(1);
+        when(bookRepo.decrementQuantity(2L)).thenReturn(0);
+        String initial = catalogVersion.booksTag();
+
+        Assertions.assertFalse(bookService.decrementQuantity(2L));
+        Assertions.assertEquals(initial, catalogVersion.booksTag());
+
+        Assertions.assertTrue(bookService.decrementQuantity(1L));
+        String taken = catalogVersion.booksTag();
+        Assertions.assertNotEquals(initial, taken);
+
+        bookService.incrementQuantity(1L);
+        Assertions.assertNotEquals(taken, catalogVersion.booksTag());
+    }
+
     @Test
     void testCreateBook() throws DuplicateException {
         BookReq req = new BookReq();
@@ -158,7 +257,7 @@ class BookServiceImplTest {
         req.setGenres(genres);
         AuthorReq authorReq = new AuthorReq("John", "Doe");
         req.setAuthor(authorReq);
-        User user = new User();
+        AuthenticatedUser user = new AuthenticatedUser(1L, "admin@example.com", "Admin", "Admin", "password", ROLE_ADMIN, true);
         SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null));
         when(bookRepo.existsByBookDetailsAndGenreTitlesAndAuthorName(
                 req.getTitle(),
@@ -210,7 +309,7 @@ class BookServiceImplTest {
         req.setGenres(genres);
         AuthorReq authorReq = new AuthorReq("John", "Doe");
         req.setAuthor(authorReq);
-        User user = new User();
+        AuthenticatedUser user = new AuthenticatedUser(1L, "admin@example.com", "Admin", "Admin", "password", ROLE_ADMIN, true);
         SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null));
         when(bookRepo.existsByBookDetailsAndGenreTitlesAndAuthorName(
                 req.getTitle(),
@@ -1,5 +1,6 @@
 package kg.mega.library_app.services;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import kg.mega.library_app.services.EmailService;
 import kg.mega.library_app.services.impl.EmailServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,13 +9,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.verify;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 class EmailServiceImplTest {
 
@@ -24,12 +29,15 @@ class EmailServiceImplTest {
     @Captor
     private ArgumentCaptor<SimpleMailMessage> messageCaptor;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private EmailService emailService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        emailService = new EmailServiceImpl(javaMailSender);
+        meterRegistry = new SimpleMeterRegistry();
+        emailService = new EmailServiceImpl(javaMailSender, meterRegistry, 2);
     }
 
     @Test
@@ -47,4 +55,78 @@ class EmailServiceImplTest {
         assertEquals(subject, sentMessage.getSubject());
         assertEquals(text, sentMessage.getText());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSendMessagesInBatches() {
+        List<SimpleMailMessage> messages = List.of(message("a@example.com"), message("b@example.com"), message("c@example.com"));
+
+        Map<Integer, Exception> failed = emailService.sendMessages(messages);
+
+        assertTrue(failed.isEmpty());
+        verify(javaMailSender).send(messages.get(0), messages.get(1));
+        verify(javaMailSender).send(new SimpleMailMessage[]{messages.get(2)});
+    }
+
+    @Test
+    void testSendMessagesReportsRejectedMessages() {
+        SimpleMailMessage accepted = message("a@example.com");
+        SimpleMailMessage rejected = message("b@example.com");
+        MailException cause = new MailSendException("Mailbox unavailable");
+        doThrow(new MailSendException(Map.of(rejected, cause)))
+                .when(javaMailSender).send(accepted, rejected);
+
+        Map<Integer, Exception> failed = emailService.sendMessages(List.of(accepted, rejected));
+
+        assertEquals(1, failed.size());
+        assertSame(cause, failed.get(1));
+        assertEquals(1, meterRegistry.get("library.mail.send").tag("mode", "batch").tag("outcome", "ERROR").timer().count());
+        assertEquals(1.0, meterRegistry.get("library.mail.failed").tag("mode", "batch").counter().count());
+    }
+
+    @Test
+    void testSendMessageRecordsLatencyAndFailures() {
+        emailService.sendMessage("a@example.com", "Subject", "Text");
+        doThrow(new MailSendException("Connection refused"))
+                .when(javaMailSender).send(any(SimpleMailMessage.class));
+
+        assertThrows(MailSendException.class, () -> emailService.sendMessage("b@example.com", "Subject", "Text"));
+
+        assertEquals(1, meterRegistry.get("library.mail.send").tag("mode", "single").tag("outcome", "SUCCESS").timer().count());
+        assertEquals(1, meterRegistry.get("library.mail.send").tag("mode", "single").tag("outcome", "ERROR").timer().count());
+        assertEquals(1.0, meterRegistry.get("library.mail.failed").tag("mode", "single").counter().count());
+    }
+
+    @Test
+    void testSendMessagesMarksWholeBatchWhenConnectionFails() {
+        SimpleMailMessage first = message("a@example.com");
+        SimpleMailMessage second = message("b@example.com");
+        doThrow(new MailSendException("Connection refused"))
+                .when(javaMailSender).send(first, second);
+
+        Map<Integer, Exception> failed = emailService.sendMessages(List.of(first, second));
+
+        assertEquals(2, failed.size());
+    }
+
+    @Test
+    void testSendMessagesReportsEveryPositionOfAnIdenticalRejectedMessage() {
+        SimpleMailMessage first = message("a@example.com");
+        SimpleMailMessage second = message("a@example.com");
+        SimpleMailMessage other = message("b@example.com");
+        MailException cause = new MailSendException("Mailbox unavailable");
+        doThrow(new MailSendException(Map.of(second, cause)))
+                .when(javaMailSender).send(first, second);
+
+        Map<Integer, Exception> failed = emailService.sendMessages(List.of(first, second, other));
+
+        assertEquals(Map.of(0, cause, 1, cause), failed);
+    }
+
+    private SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(to);
+        message.setSubject("Subject");
+        message.setText("Text");
+        return message;
+    }
+}
@@ -1,5 +1,6 @@
 package kg.mega.library_app.services;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.DuplicateException;
 import kg.mega.library_app.dao.GenreRepo;
@@ -24,12 +25,15 @@ class GenreServiceImplTest {
     @Mock
     private GenreRepo genreRepo;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private GenreService genreService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        genreService = new GenreServiceImpl(genreRepo);
+        meterRegistry = new SimpleMeterRegistry();
+        genreService = new GenreServiceImpl(genreRepo, meterRegistry, 100, 30);
     }
 
     @Test
@@ -167,4 +171,34 @@ class GenreServiceImplTest {
         }
         verify(genreRepo).findAllByTitleContaining(title);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetByTitle_RepeatedLookup_ShouldBeServedFromCache() {
+        Genre genre = new Genre("Fantasy");
+        genre.setId(7L);
+        when(genreRepo.findByTitle("Fantasy")).thenReturn(genre);
+
+        genreService.getByTitle("Fantasy");
+        Genre cached = genreService.getByTitle("Fantasy");
+
+        assertEquals(7L, cached.getId());
+        assertEquals("Fantasy", cached.getTitle());
+        verify(genreRepo, times(1)).findByTitle("Fantasy");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "genreIds").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testUpdateGenre_ShouldInvalidateCachedTitle() throws DataNotFoundException {
+        Genre genre = new Genre("Fantasy");
+        genre.setId(7L);
+        when(genreRepo.findByTitle("Fantasy")).thenReturn(genre);
+        when(genreRepo.findById(7L)).thenReturn(Optional.of(genre));
+        genreService.getByTitle("Fantasy");
+
+        genreService.updateGenre(7L, new GenreReq("Fiction"));
+        when(genreRepo.findByTitle("Fantasy")).thenReturn(null);
+
+        assertNull(genreService.getByTitle("Fantasy"));
+        verify(genreRepo, times(2)).findByTitle("Fantasy");
+    }
+}
@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
 
 class JwtServiceImplTest {
     private static final String SECRET_KEY = "6250655368566D597133743677397A244226452948404D635166546A576E5A72";
@@ -28,6 +29,7 @@ class JwtServiceImplTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         jwtService = new JwtServiceImpl();
+        when(userDetails.isEnabled()).thenReturn(true);
     }
 
     @Test
@@ -63,4 +65,43 @@ class JwtServiceImplTest {
         assertNotNull(token);
         assertTrue(token.length() > 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testValidateToken_ValidToken_ShouldReturnVerifiedClaims() {
+        when(userDetails.getUsername()).thenReturn(USERNAME);
+        String token = jwtService.generateToken(userDetails);
+
+        Claims claims = jwtService.validateToken(token);
+
+        assertEquals(USERNAME, claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, userDetails));
+        assertTrue(jwtService.isTokenValid(token, userDetails));
+    }
+
+    @Test
+    void testValidateToken_TamperedToken_ShouldThrowJwtException() {
+        when(userDetails.getUsername()).thenReturn(USERNAME);
+        String token = jwtService.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.validateToken(tampered));
+    }
+
+    @Test
+    void testIsTokenValid_OtherUser_ShouldReturnFalse() {
+        when(userDetails.getUsername()).thenReturn(USERNAME);
+        Claims claims = jwtService.validateToken(jwtService.generateToken(userDetails));
+        when(userDetails.getUsername()).thenReturn("otherUser");
+
+        assertFalse(jwtService.isTokenValid(claims, userDetails));
+    }
+
+    @Test
+    void testIsTokenValid_DisabledUser_ShouldReturnFalse() {
+        when(userDetails.getUsername()).thenReturn(USERNAME);
+        Claims claims = jwtService.validateToken(jwtService.generateToken(userDetails));
+        when(userDetails.isEnabled()).thenReturn(false);
+
+        assertFalse(jwtService.isTokenValid(claims, userDetails));
+    }
+}
@@ -0,0 +1,207 @@
+package kg.mega.library_app.services;
+
+import kg.mega.library_app.dao.MailOutboxRepo;
+import kg.mega.library_app.models.entities.MailOutbox;
+import kg.mega.library_app.services.impl.MailOutboxServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static kg.mega.library_app.models.constants.MailStatus.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class MailOutboxServiceImplTest {
+    private MailOutboxServiceImpl mailOutboxService;
+
+    @Mock
+    private MailOutboxRepo mailOutboxRepo;
+
+    @Mock
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mailOutboxService = new MailOutboxServiceImpl(mailOutboxRepo, emailService, Runnable::run, 10, 2, 3, 30, 300);
+        when(mailOutboxRepo.claim(any(), eq(PENDING), eq(SENDING), any(), anyString()))
+                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+    }
+
+    @Test
+    void testEnqueueStoresPendingMailWithoutSending() {
+        mailOutboxService.enqueue("test@example.com", "Subject", "Text");
+
+        ArgumentCaptor<MailOutbox> captor = ArgumentCaptor.forClass(MailOutbox.class);
+        verify(mailOutboxRepo).save(captor.capture());
+        verifyNoInteractions(emailService);
+
+        MailOutbox mail = captor.getValue();
+        assertEquals("test@example.com", mail.getRecipient());
+        assertEquals("Subject", mail.getSubject());
+        assertEquals("Text", mail.getBody());
+        assertEquals(PENDING, mail.getStatus());
+        assertEquals(0, mail.getAttempts());
+        assertNotNull(mail.getNextAttemptAt());
+    }
+
+    @Test
+    void testDispatchPendingSendsAndMarksSent() {
+        List<MailOutbox> mails = List.of(pendingMail(1L, 0), pendingMail(2L, 0), pendingMail(3L, 0));
+        due(mails);
+        when(emailService.sendMessages(any())).thenReturn(Collections.emptyMap());
+
+        int dispatched = mailOutboxService.dispatchPending();
+
+        assertEquals(3, dispatched);
+        verify(mailOutboxRepo, times(1)).claim(eq(List.of(1L, 2L, 3L)), eq(PENDING), eq(SENDING), any(), anyString());
+        verify(emailService, times(2)).sendMessages(any());
+        verify(emailService, never()).sendMessage(any(), any(), any());
+        for (MailOutbox mail : mails) {
+            assertEquals(SENT, mail.getStatus());
+            assertNotNull(mail.getSentAt());
+        }
+    }
+
+    @Test
+    void testDispatchPendingRetriesOnlyRejectedMessages() {
+        MailOutbox delivered = pendingMail(1L, 0);
+        MailOutbox rejected = pendingMail(2L, 0);
+        rejected.setRecipient("bad@example.com");
+        due(List.of(delivered, rejected));
+        when(emailService.sendMessages(any())).thenAnswer(invocation -> {
+            List<SimpleMailMessage> messages = invocation.getArgument(0);
+            Map<Integer, Exception> failed = new HashMap<>();
+            for (int i = 0; i < messages.size(); i++) {
+                if ("bad@example.com".equals(Objects.requireNonNull(messages.get(i).getTo())[0])) {
+                    failed.put(i, new MailSendException("Mailbox unavailable"));
+                }
+            }
+            return failed;
+        });
+
+        mailOutboxService.dispatchPending();
+
+        assertEquals(SENT, delivered.getStatus());
+        assertEquals(PENDING, rejected.getStatus());
+        assertEquals(1, rejected.getAttempts());
+        assertEquals("Mailbox unavailable", rejected.getLastError());
+    }
+
+    @Test
+    void testDispatchPendingTellsIdenticalMailsApart() {
+        MailOutbox first = pendingMail(1L, 0);
+        MailOutbox second = pendingMail(2L, 0);
+        due(List.of(first, second));
+        when(emailService.sendMessages(any())).thenReturn(Map.of(1, new MailSendException("Mailbox unavailable")));
+
+        mailOutboxService.dispatchPending();
+
+        assertEquals(SENT, first.getStatus());
+        assertEquals(PENDING, second.getStatus());
+        assertEquals(1, second.getAttempts());
+    }
+
+    @Test
+    void testDispatchPendingSchedulesRetryWithBackoff() {
+        MailOutbox mail = pendingMail(1L, 1);
+        due(List.of(mail));
+        when(emailService.sendMessages(any())).thenThrow(new MailSendException("SMTP is down"));
+
+        mailOutboxService.dispatchPending();
+
+        assertEquals(PENDING, mail.getStatus());
+        assertEquals(2, mail.getAttempts());
+        assertEquals("SMTP is down", mail.getLastError());
+        assertTrue(mail.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(50)));
+        verify(mailOutboxRepo).saveAll(List.of(mail));
+    }
+
+    @Test
+    void testDispatchPendingGivesUpAfterMaxAttempts() {
+        MailOutbox mail = pendingMail(1L, 2);
+        due(List.of(mail));
+        when(emailService.sendMessages(any())).thenThrow(new MailSendException("SMTP is down"));
+
+        mailOutboxService.dispatchPending();
+
+        assertEquals(FAILED, mail.getStatus());
+        assertEquals(3, mail.getAttempts());
+    }
+
+    @Test
+    void testDispatchPendingWithEmptyOutbox() {
+        due(Collections.emptyList());
+
+        assertEquals(0, mailOutboxService.dispatchPending());
+
+        verify(mailOutboxRepo, never()).claim(any(), any(), any(), any(), any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void testDispatchPendingSkipsMailsClaimedElsewhere() {
+        MailOutbox ours = pendingMail(1L, 0);
+        MailOutbox taken = pendingMail(2L, 0);
+        when(mailOutboxRepo.findDueIds(eq(PENDING), any(), any())).thenReturn(List.of(1L, 2L));
+        when(mailOutboxRepo.claim(any(), eq(PENDING), eq(SENDING), any(), anyString())).thenReturn(1);
+        when(mailOutboxRepo.findClaimed(anyString())).thenReturn(List.of(ours));
+        when(emailService.sendMessages(any())).thenReturn(Collections.emptyMap());
+
+        assertEquals(1, mailOutboxService.dispatchPending());
+
+        verify(mailOutboxRepo).saveAll(List.of(ours));
+        assertEquals(SENT, ours.getStatus());
+        assertEquals(PENDING, taken.getStatus());
+    }
+
+    @Test
+    void testDispatchPendingStopsWhenEveryMailWasClaimedElsewhere() {
+        when(mailOutboxRepo.findDueIds(eq(PENDING), any(), any())).thenReturn(List.of(1L, 2L));
+        when(mailOutboxRepo.claim(any(), eq(PENDING), eq(SENDING), any(), anyString())).thenReturn(0);
+
+        assertEquals(0, mailOutboxService.dispatchPending());
+
+        verify(mailOutboxRepo, never()).findClaimed(any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void testReleaseInterruptedMailsOnlyReleasesExpiredClaims() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(300);
+
+        mailOutboxService.releaseInterruptedMails();
+
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(mailOutboxRepo).releaseClaimedBefore(eq(SENDING), eq(PENDING), captor.capture());
+        assertFalse(captor.getValue().isBefore(before));
+        assertTrue(captor.getValue().isBefore(LocalDateTime.now().minusSeconds(299)));
+    }
+
+    private void due(List<MailOutbox> mails) {
+        when(mailOutboxRepo.findDueIds(eq(PENDING), any(), any())).thenReturn(mails.stream().map(MailOutbox::getId).toList());
+        when(mailOutboxRepo.findClaimed(anyString())).thenReturn(mails);
+    }
+
+    private MailOutbox pendingMail(Long id, int attempts) {
+        return MailOutbox
+                .builder()
+                .id(id)
+                .recipient("test@example.com")
+                .subject("Subject")
+                .body("Text")
+                .status(PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,6 +1,6 @@
 package kg.mega.library_app.services;
 
-import kg.mega.library_app.services.EmailService;
+import kg.mega.library_app.services.MailOutboxService;
 import kg.mega.library_app.services.impl.NotificationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,12 +16,12 @@ class NotificationServiceImplTest {
     private NotificationServiceImpl notificationService;
 
     @Mock
-    private EmailService emailService;
+    private MailOutboxService mailOutboxService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        notificationService = new NotificationServiceImpl(emailService);
+        notificationService = new NotificationServiceImpl(mailOutboxService);
     }
 
     @Test
@@ -35,7 +35,7 @@ class NotificationServiceImplTest {
         ArgumentCaptor<String> subjectCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
 
-        verify(emailService, times(1)).sendMessage(emailCaptor.capture(), subjectCaptor.capture(), messageCaptor.capture());
+        verify(mailOutboxService, times(1)).enqueue(emailCaptor.capture(), subjectCaptor.capture(), messageCaptor.capture());
 
         assertEquals(userEmail, emailCaptor.getValue());
         assertEquals("Notification to remind you to turn in your book", subjectCaptor.getValue());
@@ -54,7 +54,7 @@ class NotificationServiceImplTest {
         ArgumentCaptor<String> subjectCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
 
-        verify(emailService, times(1)).sendMessage(emailCaptor.capture(), subjectCaptor.capture(), messageCaptor.capture());
+        verify(mailOutboxService, times(1)).enqueue(emailCaptor.capture(), subjectCaptor.capture(), messageCaptor.capture());
 
         assertEquals(email, emailCaptor.getValue());
         assertEquals(subject, subjectCaptor.getValue());
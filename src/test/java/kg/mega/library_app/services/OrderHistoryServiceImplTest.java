@@ -1,7 +1,14 @@
 package kg.mega.library_app.services;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kg.mega.library_app.common.CursorCodec;
+import kg.mega.library_app.common.exceptions.InvalidCursorException;
 import kg.mega.library_app.dao.OrderHistoryRepo;
 import kg.mega.library_app.models.constants.OrderStatus;
+import kg.mega.library_app.models.dto.projections.OrderHistoryView;
+import kg.mega.library_app.models.dto.requests.OrderHistoryFilterReq;
+import kg.mega.library_app.models.dto.responses.CursorPageResp;
 import kg.mega.library_app.models.dto.responses.OrderHistoryResp;
 import kg.mega.library_app.models.entities.Order;
 import kg.mega.library_app.models.entities.OrderHistory;
@@ -12,13 +19,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.mockito.Mockito.*;
 
 class OrderHistoryServiceImplTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     private OrderHistoryServiceImpl orderHistoryService;
 
     @Mock
@@ -27,7 +39,7 @@ class OrderHistoryServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        orderHistoryService = new OrderHistoryServiceImpl(orderHistoryRepo);
+        orderHistoryService = new OrderHistoryServiceImpl(orderHistoryRepo, objectMapper);
     }
 
     @Test
@@ -73,32 +85,56 @@ class OrderHistoryServiceImplTest {
     }
 
     @Test
-    void testGetAllOrderHistory() {
-        List<OrderHistory> orderHistories = new ArrayList<>();
-        OrderHistory orderHistory1 = OrderHistory.builder()
-                .order(Order.builder().id(1L).build())
-                .status(OrderStatus.TAKING)
-                .actionDate(LocalDateTime.now())
-                .build();
-        orderHistories.add(orderHistory1);
-
-        OrderHistory orderHistory2 = OrderHistory.builder()
-                .order(Order.builder().id(2L).build())
-                .status(OrderStatus.RETURNING)
-                .actionDate(LocalDateTime.now())
-                .build();
-        orderHistories.add(orderHistory2);
+    void testWriteAllOrderHistory() throws IOException {
+        LocalDateTime actionDate = LocalDateTime.of(2023, 6, 1, 12, 0);
+        when(orderHistoryRepo.streamAllResps()).thenReturn(Stream.of(
+                new OrderHistoryResp(1L, OrderStatus.TAKING, actionDate),
+                new OrderHistoryResp(2L, OrderStatus.RETURNING, actionDate)));
 
-        when(orderHistoryRepo.findAll()).thenReturn(orderHistories);
-
-        List<OrderHistoryResp> result = orderHistoryService.getAllOrderHistory();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderHistoryService.writeAllOrderHistory(out);
+        List<OrderHistoryResp> result = objectMapper.readValue(out.toByteArray(), new TypeReference<>() {
+        });
 
         Assertions.assertEquals(2, result.size());
-        Assertions.assertEquals(orderHistory1.getOrder().getId(), result.get(0).getOrderId());
+        Assertions.assertEquals(1L, result.get(0).getOrderId());
         Assertions.assertEquals(OrderStatus.TAKING, result.get(0).getStatus());
-        Assertions.assertEquals(orderHistory2.getOrder().getId(), result.get(1).getOrderId());
+        Assertions.assertEquals(actionDate, result.get(0).getActionDate());
+        Assertions.assertEquals(2L, result.get(1).getOrderId());
         Assertions.assertEquals(OrderStatus.RETURNING, result.get(1).getStatus());
 
-        verify(orderHistoryRepo, times(1)).findAll();
+        verify(orderHistoryRepo, times(1)).streamAllResps();
+        verify(orderHistoryRepo, never()).findAll();
+    }
+
+    @Test
+    void testGetOrderHistoryCapsSizeAndReturnsNextCursor() throws InvalidCursorException {
+        LocalDateTime actionDate = LocalDateTime.of(2023, 6, 1, 12, 0);
+        OrderHistoryFilterReq filter = OrderHistoryFilterReq.builder().status(OrderStatus.TAKING).build();
+        List<OrderHistoryView> views = new ArrayList<>();
+        for (long id = 11; id <= 111; id++) {
+            views.add(new OrderHistoryView(id, id * 10, OrderStatus.TAKING, actionDate));
+        }
+        when(orderHistoryRepo.findViewsAfter(10L, filter, 101)).thenReturn(views);
+
+        CursorPageResp<OrderHistoryResp> page = orderHistoryService.getOrderHistory(filter, CursorCodec.encode(10L), 500);
+
+        Assertions.assertEquals(100, page.getSize());
+        Assertions.assertEquals(110L, page.getContent().get(0).getOrderId());
+        Assertions.assertEquals(CursorCodec.encode(110L), page.getNextCursor());
+
+        when(orderHistoryRepo.findViewsAfter(110L, filter, 101)).thenReturn(views.subList(100, 101));
+        CursorPageResp<OrderHistoryResp> last = orderHistoryService.getOrderHistory(filter, page.getNextCursor(), 500);
+
+        Assertions.assertEquals(1, last.getSize());
+        Assertions.assertNull(last.getNextCursor());
+        verify(orderHistoryRepo, never()).findAll();
+    }
+
+    @Test
+    void testGetOrderHistoryRejectsInvalidCursor() {
+        Assertions.assertThrows(InvalidCursorException.class,
+                () -> orderHistoryService.getOrderHistory(new OrderHistoryFilterReq(), "not a cursor", 20));
+        verifyNoInteractions(orderHistoryRepo);
     }
-}
\ No newline at end of file
+}
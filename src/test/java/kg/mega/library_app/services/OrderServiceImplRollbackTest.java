@@ -0,0 +1,132 @@
+package kg.mega.library_app.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kg.mega.library_app.common.CatalogVersion;
+import kg.mega.library_app.common.exceptions.DataNotFoundException;
+import kg.mega.library_app.dao.BookRepo;
+import kg.mega.library_app.dao.OrderRepo;
+import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.models.constants.Role;
+import kg.mega.library_app.models.dto.requests.OrderReq;
+import kg.mega.library_app.models.entities.Book;
+import kg.mega.library_app.models.entities.Order;
+import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
+import kg.mega.library_app.services.impl.BookServiceImpl;
+import kg.mega.library_app.services.impl.OrderServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static kg.mega.library_app.models.constants.OrderStatus.RETURNING;
+import static kg.mega.library_app.models.constants.OrderStatus.TAKING;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
+
+@DataJpaTest
+@Transactional(propagation = NOT_SUPPORTED)
+@Import({OrderServiceImpl.class, BookServiceImpl.class, CatalogVersion.class})
+class OrderServiceImplRollbackTest {
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BookRepo bookRepo;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @MockBean
+    private OrderHistoryService orderHistoryService;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    @MockBean
+    private AuthorService authorService;
+
+    @MockBean
+    private GenreService genreService;
+
+    @MockBean
+    private ObjectMapper objectMapper;
+
+    private User reader;
+
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        reader = userRepo.save(new User("Reader", "One", null, true, "reader@example.com", Role.ROLE_USER));
+        book = bookRepo.save(Book.builder().title("Last copies").quantity(2).build());
+        AuthenticatedUser principal = new AuthenticatedUser(reader.getId(), reader.getEmail(), "Reader", "One", "password", Role.ROLE_USER, true);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        orderRepo.deleteAll();
+        bookRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void testTakeBookRollsBackWhenHistoryInsertFails() {
+        doThrow(new IllegalStateException("Connection lost"))
+                .when(orderHistoryService).createOrderHistory(any(Order.class), eq(TAKING));
+        OrderReq req = new OrderReq();
+        req.setBookId(book.getId());
+        req.setReturnDueDate(LocalDate.now().plusDays(7));
+
+        assertThrows(IllegalStateException.class, () -> orderService.takeBook(req));
+
+        assertEquals(2, bookRepo.findById(book.getId()).orElseThrow().getQuantity());
+        assertEquals(0, orderRepo.count());
+    }
+
+    @Test
+    void testTakeBookRollsBackOrderWhenNoCopyIsLeft() {
+        Book lastTaken = bookRepo.save(Book.builder().title("All taken").quantity(0).build());
+        OrderReq req = new OrderReq();
+        req.setBookId(lastTaken.getId());
+        req.setReturnDueDate(LocalDate.now().plusDays(7));
+
+        assertThrows(DataNotFoundException.class, () -> orderService.takeBook(req));
+
+        assertEquals(0, orderRepo.count());
+    }
+
+    @Test
+    void testReturnBookRollsBackWhenHistoryInsertFails() {
+        Order order = orderRepo.save(Order
+                .builder()
+                .user(reader)
+                .book(book)
+                .orderDate(LocalDate.now())
+                .returnDueDate(LocalDate.now().plusDays(7))
+                .build());
+        doThrow(new IllegalStateException("Connection lost"))
+                .when(orderHistoryService).createOrderHistory(any(Order.class), eq(RETURNING));
+
+        assertThrows(IllegalStateException.class, () -> orderService.returnBook(order.getId()));
+
+        assertEquals(2, bookRepo.findById(book.getId()).orElseThrow().getQuantity());
+        assertNull(orderRepo.findById(order.getId()).orElseThrow().getActualReturnDate());
+    }
+}
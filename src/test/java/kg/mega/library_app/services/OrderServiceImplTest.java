@@ -1,13 +1,19 @@
 package kg.mega.library_app.services;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
+import kg.mega.library_app.common.exceptions.InadmissibleEditingException;
 import kg.mega.library_app.dao.OrderRepo;
+import kg.mega.library_app.dao.UserRepo;
 import kg.mega.library_app.models.constants.OrderStatus;
+import kg.mega.library_app.models.dto.projections.OverdueOrderView;
 import kg.mega.library_app.models.dto.requests.OrderReq;
 import kg.mega.library_app.models.dto.responses.OrderResp;
 import kg.mega.library_app.models.entities.Book;
 import kg.mega.library_app.models.entities.Order;
 import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
 import kg.mega.library_app.services.BookService;
 import kg.mega.library_app.services.NotificationService;
 import kg.mega.library_app.services.OrderHistoryService;
@@ -16,20 +22,30 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static kg.mega.library_app.models.constants.Role.ROLE_USER;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class OrderServiceImplTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     private OrderServiceImpl orderService;
 
     @Mock
@@ -44,14 +60,17 @@ class OrderServiceImplTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private UserRepo userRepo;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        orderService = new OrderServiceImpl(orderRepo, orderHistoryService, bookService, notificationService);
+        orderService = new OrderServiceImpl(orderRepo, orderHistoryService, userRepo, bookService, notificationService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), objectMapper, 3, 2);
 
         //     
-        User user = new User();
-        user.setEmail("test@example.com");
+        AuthenticatedUser user = new AuthenticatedUser(1L, "test@example.com", "Test", "User", "password", ROLE_USER, true);
         Authentication authentication = new UsernamePasswordAuthenticationToken(user, null);
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
@@ -71,7 +90,7 @@ class OrderServiceImplTest {
         user.setEmail("test@example.com");
 
         when(bookService.getById(req.getBookId())).thenReturn(book);
-        when(bookService.saveBook(book)).thenReturn(book);
+        when(bookService.decrementQuantity(book.getId())).thenReturn(true);
         when(orderRepo.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         OrderResp result = orderService.takeBook(req);
@@ -80,10 +99,8 @@ class OrderServiceImplTest {
         assertEquals(book.getTitle(), result.getBookTitle());
         assertNotNull(result.getOrderDate());
 
-        assertEquals(1, book.getQuantity());
-
         verify(bookService, times(1)).getById(req.getBookId());
-        verify(bookService, times(1)).saveBook(book);
+        verify(bookService, times(1)).decrementQuantity(book.getId());
         verify(orderRepo, times(1)).save(any(Order.class));
         verify(orderHistoryService, times(1)).createOrderHistory(any(Order.class), eq(OrderStatus.TAKING));
         verifyNoMoreInteractions(bookService, orderRepo, orderHistoryService);
@@ -115,11 +132,60 @@ class OrderServiceImplTest {
         book.setQuantity(0);
 
         when(bookService.getById(req.getBookId())).thenReturn(book);
+        when(bookService.decrementQuantity(book.getId())).thenReturn(false);
 
         assertThrows(DataNotFoundException.class, () -> orderService.takeBook(req));
 
         verify(bookService, times(1)).getById(req.getBookId());
-        verifyNoMoreInteractions(bookService, orderRepo, orderHistoryService);
+        verify(bookService, times(1)).decrementQuantity(book.getId());
+        verifyNoMoreInteractions(bookService);
+    }
+
+    @Test
+    void testReturnBook() throws DataNotFoundException {
+        User user = new User();
+        user.setEmail("test@example.com");
+
+        Book book = new Book();
+        book.setId(1L);
+        book.setTitle("Book 1");
+
+        Order order = new Order();
+        order.setId(1L);
+        order.setUser(user);
+        order.setBook(book);
+        order.setOrderDate(LocalDate.now());
+
+        when(orderRepo.findById(order.getId())).thenReturn(Optional.of(order));
+        when(orderRepo.markReturned(eq(order.getId()), any(LocalDate.class))).thenReturn(1);
+
+        OrderResp result = orderService.returnBook(order.getId());
+
+        assertEquals(book.getTitle(), result.getBookTitle());
+        verify(orderRepo, times(1)).markReturned(eq(order.getId()), any(LocalDate.class));
+        verify(bookService, times(1)).incrementQuantity(book.getId());
+        verify(orderHistoryService, times(1)).createOrderHistory(order, OrderStatus.RETURNING);
+    }
+
+    @Test
+    void testReturnBookThrowsInadmissibleEditingExceptionWhenAlreadyReturned() {
+        User user = new User();
+        user.setEmail("test@example.com");
+
+        Book book = new Book();
+        book.setId(1L);
+
+        Order order = new Order();
+        order.setId(1L);
+        order.setUser(user);
+        order.setBook(book);
+
+        when(orderRepo.findById(order.getId())).thenReturn(Optional.of(order));
+        when(orderRepo.markReturned(eq(order.getId()), any(LocalDate.class))).thenReturn(0);
+
+        assertThrows(InadmissibleEditingException.class, () -> orderService.returnBook(order.getId()));
+
+        verify(bookService, never()).incrementQuantity(any());
     }
 
     @Test
@@ -135,40 +201,64 @@ class OrderServiceImplTest {
     }
 
     @Test
-    void testGetAllOrders() {
-        User user1 = new User();
-        user1.setEmail("user1@example.com");
-
-        User user2 = new User();
-        user2.setEmail("user2@example.com");
-
-        Book book1 = new Book();
-        book1.setTitle("Book 1");
-
-        Book book2 = new Book();
-        book2.setTitle("Book 2");
+    void testWriteAllOrders() throws IOException {
+        LocalDate orderDate = LocalDate.of(2023, 6, 1);
+        when(orderRepo.streamAllResps()).thenReturn(Stream.of(
+                new OrderResp("user1@example.com", "Book 1", orderDate),
+                new OrderResp("user2@example.com", "Book 2", orderDate)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderService.writeAllOrders(out);
+        List<OrderResp> result = objectMapper.readValue(out.toByteArray(), new TypeReference<>() {
+        });
+
+        assertEquals(List.of(
+                new OrderResp("user1@example.com", "Book 1", orderDate),
+                new OrderResp("user2@example.com", "Book 2", orderDate)), result);
+
+        verify(orderRepo, times(1)).streamAllResps();
+        verifyNoMoreInteractions(bookService, orderRepo, orderHistoryService);
+    }
 
-        Order order1 = new Order();
-        order1.setUser(user1);
-        order1.setBook(book1);
-        order1.setOrderDate(LocalDate.now());
+    @Test
+    void testCheckOverdueBooksRemindsEachOrderOnceInChunks() {
+        LocalDate dueBefore = LocalDate.now().plusDays(3);
+        when(orderRepo.findOrdersToRemind(dueBefore, 0L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new OverdueOrderView(1L, "user1@example.com", "Book 1"),
+                new OverdueOrderView(2L, "user2@example.com", "Book 2")));
+        when(orderRepo.findOrdersToRemind(dueBefore, 2L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new OverdueOrderView(5L, "user3@example.com", "Book 3")));
+
+        orderService.checkOverdueBooks();
+
+        verify(notificationService).sendOverdueNotification("user1@example.com", "Book 1");
+        verify(notificationService).sendOverdueNotification("user2@example.com", "Book 2");
+        verify(notificationService).sendOverdueNotification("user3@example.com", "Book 3");
+        verify(orderRepo).markReminded(List.of(1L, 2L), LocalDate.now());
+        verify(orderRepo).markReminded(List.of(5L), LocalDate.now());
+        verify(orderRepo, never()).findAll();
+    }
 
-        Order order2 = new Order();
-        order2.setUser(user2);
-        order2.setBook(book2);
-        order2.setOrderDate(LocalDate.now());
+    @Test
+    void testCheckOverdueBooksDoesNotMarkChunkWhenEnqueueFails() {
+        LocalDate dueBefore = LocalDate.now().plusDays(3);
+        when(orderRepo.findOrdersToRemind(dueBefore, 0L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new OverdueOrderView(1L, "user1@example.com", "Book 1")));
+        doThrow(new IllegalStateException("Outbox is unavailable"))
+                .when(notificationService).sendOverdueNotification("user1@example.com", "Book 1");
 
-        List<Order> orders = new ArrayList<>();
-        orders.add(order1);
-        orders.add(order2);
+        assertThrows(IllegalStateException.class, () -> orderService.checkOverdueBooks());
 
-        when(orderRepo.findAll()).thenReturn(orders);
+        verify(orderRepo, never()).markReminded(any(), any());
+    }
 
-        List<OrderResp> result = orderService.getAllOrders();
+    @Test
+    void testCheckOverdueBooksWithNothingDue() {
+        when(orderRepo.findOrdersToRemind(any(), any(), any())).thenReturn(Collections.emptyList());
 
-        assertEquals(2, result.size());
+        orderService.checkOverdueBooks();
 
-        verify(orderRepo, times(1)).findAll();
-        verifyNoMoreInteractions(bookService, orderRepo, orderHistoryService);
+        verify(orderRepo, times(1)).findOrdersToRemind(any(), any(), any());
+        verifyNoInteractions(notificationService);
     }
 }
\ No newline at end of file
@@ -1,14 +1,18 @@
 package kg.mega.library_app.services;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import kg.mega.library_app.common.exceptions.DataNotFoundException;
 import kg.mega.library_app.common.exceptions.InadmissibleEditingException;
 import kg.mega.library_app.dao.ReviewRepo;
+import kg.mega.library_app.dao.UserRepo;
 import kg.mega.library_app.models.dto.requests.ReviewReq;
 import kg.mega.library_app.models.dto.requests.ReviewUpdateReq;
 import kg.mega.library_app.models.dto.responses.ReviewResp;
 import kg.mega.library_app.models.entities.Book;
 import kg.mega.library_app.models.entities.Review;
 import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.security.AuthenticatedUser;
 import kg.mega.library_app.services.BookService;
 import kg.mega.library_app.services.impl.ReviewServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,13 +20,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static kg.mega.library_app.models.constants.Role.ROLE_USER;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -33,6 +42,12 @@ class ReviewServiceImplTest {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private UserRepo userRepo;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private ReviewServiceImpl reviewService;
 
@@ -51,12 +66,14 @@ class ReviewServiceImplTest {
         book.setId(1L);
 
         User user = new User();
+        user.setId(1L);
         user.setFirstname("John");
         user.setLastname("Doe");
 
         Authentication authentication = mock(Authentication.class);
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        when(authentication.getPrincipal()).thenReturn(user);
+        when(authentication.getPrincipal()).thenReturn(principal(1L, "john@example.com", "John", "Doe"));
+        when(userRepo.getReferenceById(1L)).thenReturn(user);
 
         when(bookService.getById(1L)).thenReturn(book);
 
@@ -82,30 +99,23 @@ class ReviewServiceImplTest {
     }
 
     @Test
-    void testGetAllReview() {
-        List<Review> reviewList = new ArrayList<>();
-        reviewList.add(new Review("Great book", new User("John", "Doe")));
-        reviewList.add(new Review("Interesting read", new User("Jane", "Smith")));
-
-        when(reviewRepo.findAll()).thenReturn(reviewList);
+    void testWriteAllReviews() throws IOException {
+        when(reviewRepo.streamAllResps()).thenReturn(Stream.of(
+                new ReviewResp("Great book", "John", "Doe"),
+                new ReviewResp("Interesting read", "Jane", "Smith")));
 
         List<ReviewResp> expectedRespList = new ArrayList<>();
         expectedRespList.add(new ReviewResp("Great book", "John", "Doe"));
         expectedRespList.add(new ReviewResp("Interesting read", "Jane", "Smith"));
 
-        List<ReviewResp> actualRespList = reviewService.getAllReview();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reviewService.writeAllReviews(out);
+        List<ReviewResp> actualRespList = objectMapper.readValue(out.toByteArray(), new TypeReference<>() {
+        });
 
-        assertNotNull(actualRespList);
-        assertEquals(expectedRespList.size(), actualRespList.size());
-        for (int i = 0; i < expectedRespList.size(); i++) {
-            ReviewResp expectedResp = expectedRespList.get(i);
-            ReviewResp actualResp = actualRespList.get(i);
-            assertEquals(expectedResp.getComment(), actualResp.getComment());
-            assertEquals(expectedResp.getUserFirstname(), actualResp.getUserFirstname());
-            assertEquals(expectedResp.getUserLastname(), actualResp.getUserLastname());
-        }
+        assertEquals(expectedRespList, actualRespList);
 
-        verify(reviewRepo, times(1)).findAll();
+        verify(reviewRepo, times(1)).streamAllResps();
         verifyNoMoreInteractions(reviewRepo);
     }
 
@@ -115,8 +125,7 @@ class ReviewServiceImplTest {
         ReviewUpdateReq req = new ReviewUpdateReq();
         req.setComment("Updated review");
 
-        User loggedInUser = new User();
-        loggedInUser.setEmail("john@example.com");
+        AuthenticatedUser loggedInUser = principal(2L, "john@example.com", "Logged", "In");
 
         User reviewUser = new User();
         reviewUser.setEmail("john@example.com");
@@ -159,8 +168,7 @@ class ReviewServiceImplTest {
         ReviewUpdateReq req = new ReviewUpdateReq();
         req.setComment("Updated review");
 
-        User loggedInUser = new User();
-        loggedInUser.setEmail("jane@example.com");
+        AuthenticatedUser loggedInUser = principal(2L, "jane@example.com", "Logged", "In");
 
         User reviewUser = new User();
         reviewUser.setEmail("john@example.com");
@@ -186,8 +194,7 @@ class ReviewServiceImplTest {
     void testDeleteReview() throws DataNotFoundException, InadmissibleEditingException {
         Long reviewId = 1L;
 
-        User loggedInUser = new User();
-        loggedInUser.setEmail("john@example.com");
+        AuthenticatedUser loggedInUser = principal(2L, "john@example.com", "Logged", "In");
 
         User reviewUser = new User();
         reviewUser.setEmail("john@example.com");
@@ -217,8 +224,7 @@ class ReviewServiceImplTest {
     void testDeleteReviewThrowsInadmissibleEditingException() {
         Long reviewId = 1L;
 
-        User loggedInUser = new User();
-        loggedInUser.setEmail("jane@example.com");
+        AuthenticatedUser loggedInUser = principal(2L, "jane@example.com", "Logged", "In");
 
         User reviewUser = new User();
         reviewUser.setEmail("john@example.com");
@@ -269,4 +275,8 @@ class ReviewServiceImplTest {
         verify(reviewRepo, times(1)).findAllByBook_Id(bookId);
         verifyNoMoreInteractions(reviewRepo);
     }
-}
\ No newline at end of file
+
+    private AuthenticatedUser principal(Long id, String email, String firstname, String lastname) {
+        return new AuthenticatedUser(id, email, firstname, lastname, "password", ROLE_USER, true);
+    }
+}
@@ -1,30 +1,51 @@
 package kg.mega.library_app.services;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import kg.mega.library_app.common.exceptions.DuplicateException;
 import kg.mega.library_app.dao.UserRepo;
+import kg.mega.library_app.dao.VerificationTokenRepo;
+import kg.mega.library_app.events.RegistrationCompleteEvent;
 import kg.mega.library_app.models.dto.requests.AuthenticationReq;
 import kg.mega.library_app.models.dto.requests.RegistrationReq;
 import kg.mega.library_app.models.dto.responses.AuthenticationResp;
 import kg.mega.library_app.models.dto.responses.RegistrationInterimResp;
 import kg.mega.library_app.models.dto.responses.UserResp;
 import kg.mega.library_app.models.entities.User;
+import kg.mega.library_app.models.entities.VerificationToken;
+import kg.mega.library_app.security.AuthenticatedUser;
+import kg.mega.library_app.security.VerifiedTokenCache;
 import kg.mega.library_app.services.impl.UserServiceImpl;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static kg.mega.library_app.models.constants.Role.ROLE_ADMIN;
+import static kg.mega.library_app.models.constants.Role.ROLE_USER;
 import static org.mockito.Mockito.*;
 
 class UserServiceImplTest {
@@ -40,6 +61,21 @@ class UserServiceImplTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private VerificationTokenRepo verificationTokenRepo;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -48,6 +84,11 @@ class UserServiceImplTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void register_WithDuplicateEmail_ShouldThrowDuplicateException() {
         RegistrationReq req = new RegistrationReq();
@@ -55,12 +96,13 @@ class UserServiceImplTest {
 
         when(userRepo.findByEmail(req.getEmail())).thenReturn(Optional.of(new User()));
 
-        assertThrows(DuplicateException.class, () -> userService.register(req));
+        assertThrows(DuplicateException.class, () -> userService.register(req, "http://localhost:8080"));
 
         verify(userRepo, times(1)).findByEmail(req.getEmail());
         verifyNoMoreInteractions(userRepo);
         verifyNoInteractions(passwordEncoder);
         verifyNoInteractions(jwtService);
+        verifyNoInteractions(publisher);
     }
 
     @Test
@@ -92,14 +134,15 @@ class UserServiceImplTest {
     }
 
     @Test
-    void getAllUsers_ShouldReturnListOfUserResp() {
-        List<User> userList = new ArrayList<>();
-        userList.add(User.builder().id(1L).firstname("John").lastname("Doe").build());
-        userList.add(User.builder().id(2L).firstname("Jane").lastname("Smith").build());
-
-        when(userRepo.findAll()).thenReturn(userList);
+    void writeAllUsers_ShouldStreamJsonArrayOfUserResp() throws IOException {
+        when(userRepo.streamAllResps()).thenReturn(Stream.of(
+                new UserResp("John", "Doe", null, true, "john@example.com", ROLE_USER),
+                new UserResp("Jane", "Smith", null, false, "jane@example.com", ROLE_ADMIN)));
 
-        List<UserResp> userRespList = userService.getAllUsers();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userService.writeAllUsers(out);
+        List<UserResp> userRespList = objectMapper.readValue(out.toByteArray(), new TypeReference<>() {
+        });
 
         assertNotNull(userRespList);
         assertEquals(2, userRespList.size());
@@ -108,7 +151,7 @@ class UserServiceImplTest {
         assertEquals("Jane", userRespList.get(1).getFirstname());
         assertEquals("Smith", userRespList.get(1).getLastname());
 
-        verify(userRepo, times(1)).findAll();
+        verify(userRepo, times(1)).streamAllResps();
         verifyNoMoreInteractions(userRepo);
     }
 
@@ -123,12 +166,10 @@ class UserServiceImplTest {
 
         when(userRepo.findByEmail("test@example.com")).thenReturn(Optional.empty());
         when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
-        when(jwtService.generateToken(any(User.class))).thenReturn("jwtToken");
-
-        RegistrationInterimResp registrationInterimResp = userService.register(registrationReq);
+        RegistrationInterimResp registrationInterimResp = userService.register(registrationReq, "http://localhost:8080");
 
         assertNotNull(registrationInterimResp);
-        assertEquals("jwtToken", registrationInterimResp.getToken());
+        assertFalse(registrationInterimResp.getUser().isEnabled());
         assertEquals("John", registrationInterimResp.getUser().getFirstname());
         assertEquals("Doe", registrationInterimResp.getUser().getLastname());
         assertEquals("test@example.com", registrationInterimResp.getUser().getEmail());
@@ -136,7 +177,16 @@ class UserServiceImplTest {
         verify(userRepo, times(1)).findByEmail("test@example.com");
         verify(userRepo, times(1)).save(any(User.class));
         verify(passwordEncoder, times(1)).encode("password");
-        verify(jwtService, times(1)).generateToken(any(User.class));
+        verifyNoInteractions(jwtService);
+
+        ArgumentCaptor<VerificationToken> token = ArgumentCaptor.forClass(VerificationToken.class);
+        verify(verificationTokenRepo, times(1)).save(token.capture());
+        ArgumentCaptor<RegistrationCompleteEvent> event = ArgumentCaptor.forClass(RegistrationCompleteEvent.class);
+        verify(publisher, times(1)).publishEvent(event.capture());
+        assertSame(registrationInterimResp.getUser(), event.getValue().getUser());
+        assertSame(registrationInterimResp.getUser(), token.getValue().getUser());
+        assertEquals(token.getValue().getToken(), event.getValue().getVerificationToken());
+        assertEquals("http://localhost:8080", event.getValue().getApplicationUrl());
     }
 
 
@@ -176,18 +226,58 @@ class UserServiceImplTest {
     }
 
     @Test
-    void testGetAllUsers_ShouldReturnListOfUsers() {
-        List<User> userList = new ArrayList<>();
-        userList.add(new User("John", "Doe", "test1@example.com"));
-        userList.add(new User("Jane", "Smith", "test2@example.com"));
-
-        when(userRepo.findAll()).thenReturn(userList);
-
-        List<UserResp> userRespList = userService.getAllUsers();
+    void testWriteAllUsers_ShouldKeepJsonPropertyNames() throws IOException {
+        when(userRepo.streamAllResps()).thenReturn(Stream.of(
+                new UserResp("John", "Doe", "123456789", true, "test1@example.com", ROLE_USER)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userService.writeAllUsers(out);
+        JsonNode users = objectMapper.readTree(out.toByteArray());
+
+        assertTrue(users.isArray());
+        assertEquals("123456789", users.get(0).get("phone_number").asText());
+        assertTrue(users.get(0).get("is_active").asBoolean());
+        assertEquals("ROLE_USER", users.get(0).get("role").asText());
+    }
 
-        assertNotNull(userRespList);
-        assertEquals(2, userRespList.size());
+    @Test
+    void testBlockUser_ShouldEvictCachedTokens() throws Exception {
+        AuthenticatedUser admin = new AuthenticatedUser(1L, "admin@example.com", "Admin", "Admin", "password", ROLE_ADMIN, true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        User user = new User("John", "Doe", "test@example.com");
+        user.setId(2L);
+        user.setRole(ROLE_USER);
+        user.setActive(true);
+        when(userRepo.findById(2L)).thenReturn(Optional.of(user));
+
+        userService.blockUser(2L);
+
+        assertFalse(user.isActive());
+        verify(userRepo).save(user);
+        verify(verifiedTokenCache).evictUser("test@example.com");
+    }
 
-        verify(userRepo, times(1)).findAll();
+    @Test
+    void testBlockUser_ShouldEvictCachedTokensOnlyAfterCommit() throws Exception {
+        AuthenticatedUser admin = new AuthenticatedUser(1L, "admin@example.com", "Admin", "Admin", "password", ROLE_ADMIN, true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        User user = new User("John", "Doe", "test@example.com");
+        user.setId(2L);
+        user.setRole(ROLE_USER);
+        user.setActive(true);
+        when(userRepo.findById(2L)).thenReturn(Optional.of(user));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.blockUser(2L);
+            verify(verifiedTokenCache, never()).evictUser(anyString());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(verifiedTokenCache).evictUser("test@example.com");
     }
-}
\ No newline at end of file
+}